@@ -1,3 +1,6 @@
+-- Scratch queries only: the schema is created and versioned by the Flyway migrations in
+-- realtimeaudit/src/main/resources/db/migration.
+
 create table auditors(
 	auditor_id BIGSERIAL primary key,
 	name varchar(100) not null,
@@ -36,3 +39,9 @@ CREATE TABLE audit_plan (
 select * from audit_plan;
 
 drop table audit_plan;
+
+-- audit_plan ids are allocated from a pooled sequence (50 ids per round trip) so inserts can be batched.
+-- Hibernate's pooled optimizer treats each nextval as the top of a block of 50, so on an existing
+-- database the next value must be MAX(audit_id) + 50 for the first block to start right after it.
+CREATE SEQUENCE IF NOT EXISTS audit_plan_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('audit_plan_seq', COALESCE((SELECT MAX(audit_id) FROM audit_plan), 0) + 50, false);
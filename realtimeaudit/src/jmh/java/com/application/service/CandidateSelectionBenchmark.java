@@ -0,0 +1,64 @@
+package com.application.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+
+/**
+ * Candidate pool of one disruption, built the way AuditorServiceImpl builds it: the union of the
+ * reassignment.candidate-count nearest available auditors to each orphaned store.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandidateSelectionBenchmark {
+
+	private static final int CANDIDATE_COUNT = 10;
+
+	@Param({ "100", "1000", "10000", "100000" })
+	private int auditorCount;
+
+	@Param({ "1", "50" })
+	private int orphanedStoreCount;
+
+	private AuditorSpatialIndex index;
+	private List<Store> orphanedStores;
+
+	@Setup
+	public void setUp() {
+		index = new AuditorSpatialIndex(null, 0.5);
+		for (Auditors auditor : SyntheticData.auditors(auditorCount, 1)) {
+			index.update(auditor);
+		}
+		orphanedStores = SyntheticData.stores(orphanedStoreCount, 2);
+	}
+
+	@Benchmark
+	public Set<Integer> nearestCandidates() {
+		Set<Integer> candidateIds = new LinkedHashSet<>();
+		for (Store store : orphanedStores) {
+			candidateIds.addAll(index.findNearest(store.getLocationLat(), store.getLocationLon(), CANDIDATE_COUNT, Set.of(0)));
+		}
+		return candidateIds;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.application.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// One auditor's row of distances to storeCount stores: the inner loop of the cost matrix and of DistanceMatrix.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HaversineBenchmark {
+
+	@Param({ "100", "1000", "10000", "100000" })
+	private int storeCount;
+
+	private double auditorLat;
+	private double auditorLon;
+	private double[] storeLat;
+	private double[] storeLon;
+	private double[] distanceKm;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(1);
+		auditorLat = SyntheticData.latitude(random);
+		auditorLon = SyntheticData.longitude(random);
+		storeLat = new double[storeCount];
+		storeLon = new double[storeCount];
+		for (int i = 0; i < storeCount; i++) {
+			storeLat[i] = SyntheticData.latitude(random);
+			storeLon[i] = SyntheticData.longitude(random);
+		}
+		distanceKm = new double[storeCount];
+	}
+
+	@Benchmark
+	public double[] distanceRow() {
+		for (int i = 0; i < storeCount; i++) {
+			distanceKm[i] = GeoUtils.haversineDistance(auditorLat, auditorLon, storeLat[i], storeLon[i]);
+		}
+		return distanceKm;
+	}
+
+}
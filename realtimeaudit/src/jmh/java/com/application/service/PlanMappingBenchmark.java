@@ -0,0 +1,64 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AuditPlanResponseDTO;
+import com.application.entities.AuditPlan;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+
+// Entity -> DTO mapping on both sides of a plan run: the engine request and the API response.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlanMappingBenchmark {
+
+	@Param({ "100", "1000", "10000", "100000" })
+	private int entityCount;
+
+	private final AuditPlanServiceImpl auditPlanService = new AuditPlanServiceImpl(60);
+
+	private List<Auditors> auditors;
+	private List<Store> stores;
+	private List<AuditPlan> plans;
+
+	@Setup
+	public void setUp() {
+		auditors = SyntheticData.auditors(entityCount, 1);
+		stores = SyntheticData.stores(entityCount, 2);
+		plans = SyntheticData.plans(auditors, stores);
+	}
+
+	@Benchmark
+	public AssignmentRequestDTO mapEntitiesToRequestDTO() {
+		return auditPlanService.mapEntitiesToRequestDTO(auditors, stores);
+	}
+
+	@Benchmark
+	public List<AuditPlanResponseDTO> convertToDTO() {
+		List<AuditPlanResponseDTO> responses = new ArrayList<>(plans.size());
+		for (AuditPlan plan : plans) {
+			responses.add(auditPlanService.convertToDTO(plan));
+		}
+		return responses;
+	}
+
+}
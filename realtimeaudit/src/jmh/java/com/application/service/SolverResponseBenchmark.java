@@ -0,0 +1,74 @@
+package com.application.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The in-memory half of processAndSaveAuditPlans: streaming a solver response body into
+ * recommendations and applying the planning rules to them. All recommendations are valid, so the
+ * numbers are not dominated by the warning logged for each rejected one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverResponseBenchmark {
+
+	@Param({ "100", "1000", "10000", "100000" })
+	private int storeCount;
+
+	private final SolverResponseParser parser = new SolverResponseParser(new ObjectMapper());
+
+	private byte[] body;
+
+	@Setup
+	public void setUp() throws IOException {
+		List<Map<String, Object>> stores = new ArrayList<>(storeCount);
+		for (int i = 1; i <= storeCount; i++) {
+			Map<String, Object> store = new LinkedHashMap<>();
+			store.put("store_id", i);
+			store.put("assigned_auditor_id", i);
+			store.put("distance_km", i % 97 + 0.5);
+			store.put("latitude", 40.0);
+			store.put("longitude", -75.0);
+			stores.add(store);
+		}
+		Map<String, Object> data = new LinkedHashMap<>();
+		data.put("auditors", List.of());
+		data.put("stores", stores);
+		data.put("disruptions", List.of());
+		Map<String, Object> response = new LinkedHashMap<>();
+		response.put("status", "success");
+		response.put("data", data);
+		body = new ObjectMapper().writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public RecommendationValidator parseAndValidate() throws IOException {
+		RecommendationValidator validator = new RecommendationValidator();
+		parser.parse(new ByteArrayInputStream(body), validator);
+		return validator;
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.application.entities.AuditPlan;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+
+/**
+ * Seeded auditors, stores and plans spread over the continental US, so every benchmark run sees
+ * the same data for a given size.
+ */
+final class SyntheticData {
+
+	private static final double MIN_LAT = 25.0;
+	private static final double MAX_LAT = 49.0;
+	private static final double MIN_LON = -124.0;
+	private static final double MAX_LON = -67.0;
+
+	private SyntheticData() {
+	}
+
+	static List<Auditors> auditors(int count, long seed) {
+		Random random = new Random(seed);
+		List<Auditors> auditors = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			Auditors auditor = new Auditors();
+			auditor.setId(i);
+			auditor.setName("Auditor " + i);
+			auditor.setHomeLat(latitude(random));
+			auditor.setHomeLon(longitude(random));
+			auditor.setWorkLoadCapacityHours(40);
+			auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+			auditors.add(auditor);
+		}
+		return auditors;
+	}
+
+	static List<Store> stores(int count, long seed) {
+		Random random = new Random(seed);
+		List<Store> stores = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			Store store = new Store();
+			store.setId(i);
+			store.setName("Store " + i);
+			store.setLocationLat(latitude(random));
+			store.setLocationLon(longitude(random));
+			store.setStoreStatus(Store.StoreStatus.OPEN);
+			stores.add(store);
+		}
+		return stores;
+	}
+
+	// One plan per store, the i-th auditor auditing the i-th store.
+	static List<AuditPlan> plans(List<Auditors> auditors, List<Store> stores) {
+		int count = Math.min(auditors.size(), stores.size());
+		List<AuditPlan> plans = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			AuditPlan plan = new AuditPlan();
+			plan.setId(i + 1);
+			plan.setAuditors(auditors.get(i));
+			plan.setStore(stores.get(i));
+			plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
+			plans.add(plan);
+		}
+		return plans;
+	}
+
+	static double latitude(Random random) {
+		return MIN_LAT + random.nextDouble() * (MAX_LAT - MIN_LAT);
+	}
+
+	static double longitude(Random random) {
+		return MIN_LON + random.nextDouble() * (MAX_LON - MIN_LON);
+	}
+
+}
@@ -33,6 +33,12 @@ public class AuditPlanResponseDTO {
 
     // Getters and Setters for all fields...
     
+    // Used by the JPQL constructor expressions in AuditPlanRepository, which hand over the enums as-is.
+    public AuditPlanResponseDTO(int auditId, AuditStatus auditStatus, AuditPriority auditPriority,
+    		int auditorId, String auditorName, int storeId, String storeName) {
+    	this(auditId, auditStatus.name(), auditPriority.name(), auditorId, auditorName, storeId, storeName);
+    }
+    
     
    
-}
\ No newline at end of file
+}
\ No newline at end of file
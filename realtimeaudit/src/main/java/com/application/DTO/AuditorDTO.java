@@ -1,5 +1,6 @@
 package com.application.DTO;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -26,4 +27,14 @@ public class AuditorDTO {
     @JsonProperty("availability_status")
     private String availabilityStatus;
 
+    // Only sent by capacity planning (see AuditorCapacity); the keys are the ones the Python solver reads.
+    @JsonProperty("workloadCapacityHours")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double workloadCapacityHours;
+
+    // Hours booked so far, including the audit plans the auditor already holds.
+    @JsonProperty("currentAssignedHours")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double currentAssignedHours;
+
 }
@@ -0,0 +1,5 @@
+package com.application.DTO;
+
+// How many audit plans an auditor holds; capacity planning counts them against its workload hours.
+public record AuditorPlanCount(Integer auditorId, Long plans) {
+}
@@ -0,0 +1,19 @@
+package com.application.DTO;
+
+import com.application.entities.Auditors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of PUT /api/auditors/status, same fields as PUT /api/auditor/{id}?status=...
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditorStatusUpdateDTO {
+
+	private int id;
+
+	private Auditors.AvailabilityStatus status;
+
+}
@@ -0,0 +1,29 @@
+package com.application.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of a bulk availability update and the single reassignment pass that followed it.
+@Data
+@NoArgsConstructor
+public class BulkStatusUpdateResultDTO {
+
+	private int requested;
+
+	// Auditors whose status actually changed.
+	private int updated;
+
+	private List<Integer> notFound = new ArrayList<>();
+
+	// Plans left without an auditor because theirs stopped being AVAILABLE.
+	private int orphanedPlans;
+
+	private int reassigned;
+
+	// Orphaned plans no candidate could take; they were removed and the stores are open for the next plan.
+	private int unassigned;
+
+}
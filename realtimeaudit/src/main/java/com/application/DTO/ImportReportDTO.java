@@ -0,0 +1,30 @@
+package com.application.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a bulk import: valid rows are loaded, invalid ones are skipped and listed (up to a cap).
+@Data
+@NoArgsConstructor
+public class ImportReportDTO {
+
+	public record RowError(long line, String message) {
+	}
+
+	private String entity;
+
+	private long received;
+
+	private long imported;
+
+	private long rejected;
+
+	private long elapsedMs;
+
+	// The first rejected rows only; "rejected" has the full count.
+	private List<RowError> errors = new ArrayList<>();
+
+}
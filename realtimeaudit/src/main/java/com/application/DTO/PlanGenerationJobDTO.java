@@ -0,0 +1,41 @@
+package com.application.DTO;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Snapshot of an asynchronous plan-generation job, returned by POST /api/process and GET /api/process/{jobId}.
+@Data
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanGenerationJobDTO {
+
+	public enum JobStatus {
+		QUEUED, RUNNING, SUCCEEDED, FAILED
+	}
+
+	private String jobId;
+	private String engine;
+	private boolean incremental;
+	private JobStatus status;
+	private String message;
+
+	private Instant submittedAt;
+	private Instant startedAt;
+	private Instant finishedAt;
+
+	// Only filled in once the job has SUCCEEDED.
+	private int assignmentCount;
+	private List<AuditPlanResponseDTO> assignments;
+
+	// Only filled in once the job has FAILED.
+	private String error;
+
+}
@@ -15,8 +15,8 @@ import lombok.Setter;
 @NoArgsConstructor
 public class ResponseData {
 	    // This maps to the inner JSON object with auditors, stores, disruptions
-	    private List<Object> auditors; // You can create more specific DTOs if needed
-	    private List<Object> stores;
-	    private List<Object> disruptions;
+	    private List<SolverAuditorResult> auditors;
+	    private List<SolverStoreResult> stores;
+	    private List<SolverDisruptionResult> disruptions;
 
 }
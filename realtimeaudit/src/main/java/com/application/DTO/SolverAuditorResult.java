@@ -0,0 +1,16 @@
+package com.application.DTO;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// One entry of data.auditors in a solver response.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SolverAuditorResult(
+		@JsonProperty("auditor_id") Integer auditorId,
+		@JsonProperty("assigned_store_ids") List<Integer> assignedStoreIds,
+		@JsonProperty("workloadCapacityHours") Double workloadCapacityHours,
+		@JsonProperty("currentAssignedHours") Double currentAssignedHours,
+		@JsonProperty("remaining_hours") Double remainingHours) {
+}
@@ -0,0 +1,15 @@
+package com.application.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// One entry of data.disruptions in a solver response (stores the solver could not, or newly did, cover).
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SolverDisruptionResult(
+		@JsonProperty("disruption_id") String disruptionId,
+		@JsonProperty("store_id") Integer storeId,
+		@JsonProperty("event_type") String eventType,
+		@JsonProperty("reassignment_status") String reassignmentStatus,
+		@JsonProperty("assigned_auditor_id") Integer assignedAuditorId,
+		@JsonProperty("distance_km") Double distanceKm) {
+}
@@ -0,0 +1,12 @@
+package com.application.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// One entry of data.stores in a solver response; the echoed "raw" input and coordinates are ignored.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SolverStoreResult(
+		@JsonProperty("store_id") Integer storeId,
+		@JsonProperty("assigned_auditor_id") Integer assignedAuditorId,
+		@JsonProperty("distance_km") Double distanceKm) {
+}
@@ -1,15 +1,106 @@
 package com.application.config;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 @Configuration
+@EnableCaching
 public class AppConfig {
 	
+	// Deadline for a whole solver call, closed with the context.
+	@Bean
+	public CallDeadline solverCallDeadline(@Value("${solver.http.call-timeout-ms:20000}") long callTimeoutMs) {
+		return new CallDeadline(callTimeoutMs);
+	}
+
+	// RestTemplate for the Python solver: pooled keep-alive connections, per-read timeouts and a deadline
+	// for the whole call, so a slow solver call can never hold a request thread indefinitely.
+	@Bean
+	public RestTemplate restTemplate(
+			@Value("${solver.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+			@Value("${solver.http.read-timeout-ms:15000}") long readTimeoutMs,
+			@Value("${solver.http.pool-timeout-ms:1000}") long poolTimeoutMs,
+			@Value("${solver.http.max-connections:50}") int maxConnections,
+			@Value("${solver.http.idle-eviction-ms:30000}") long idleEvictionMs,
+			CallDeadline solverCallDeadline) {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxConnections)
+				.setMaxConnPerRoute(maxConnections)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+						.setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+						.setTimeToLive(TimeValue.ofMinutes(5))
+						.build())
+				.build();
+
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+				.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+				.build();
+
+		CloseableHttpClient httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.addExecInterceptorFirst("call-deadline", solverCallDeadline)
+				.evictIdleConnections(TimeValue.of(idleEvictionMs, TimeUnit.MILLISECONDS))
+				.evictExpiredConnections()
+				.build();
+
+		return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+	}
+	
+	// Worker pool for /api/process jobs. Bounded on both threads and queue: once the queue is full,
+	// submissions are rejected (HTTP 503) instead of piling up work nobody will wait for.
+	// With spring.threads.virtual.enabled the workers are virtual threads; the bounds stay the same.
+	@Bean
+	public ThreadPoolTaskExecutor planGenerationExecutor(
+			@Value("${plan.jobs.pool-size:1}") int poolSize,
+			@Value("${plan.jobs.queue-capacity:20}") int queueCapacity,
+			Environment environment) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("plan-job-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(60);
+		return executor;
+	}
+	
+	// Backs the availableAuditors / openStores snapshot caches (see SnapshotCache). Entries are weighed by the
+	// number of rows they hold, so memory stays bounded by snapshot.cache.max-rows whatever the data size;
+	// a snapshot larger than that is simply not kept. expire-after-write catches writes made outside the app.
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public Caffeine<Object, Object> caffeine(
+			@Value("${snapshot.cache.max-rows:200000}") long maxRows,
+			@Value("${snapshot.cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+		return Caffeine.newBuilder()
+				.maximumWeight(maxRows)
+				.weigher((Object key, Object value) -> value instanceof Collection<?> rows ? Math.max(1, rows.size()) : 1)
+				.expireAfterWrite(Duration.ofSeconds(expireAfterWriteSeconds))
+				.recordStats();
 	}
 
 }
@@ -0,0 +1,87 @@
+package com.application.config;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.classic.ExecChain;
+import org.apache.hc.client5.http.classic.ExecChainHandler;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Total deadline for an HTTP call, as an exec interceptor: a call still running the given time after it
+ * started has its connection closed, whether it is sending, waiting for the response or reading the body,
+ * and fails with an IOException. The socket and response timeouts only bound each read, so a server that
+ * keeps trickling bytes would otherwise hold the call for as long as it likes. The deadline ends when the
+ * response body is closed.
+ */
+public class CallDeadline implements ExecChainHandler, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(CallDeadline.class);
+
+	private final long timeoutMs;
+
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	public CallDeadline(long timeoutMs) {
+		this.timeoutMs = timeoutMs;
+		this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "http-call-deadline");
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Nearly every call ends before its deadline; cancelled aborts must not pile up in the queue.
+		this.scheduler.setRemoveOnCancelPolicy(true);
+	}
+
+	@Override
+	public ClassicHttpResponse execute(ClassicHttpRequest request, ExecChain.Scope scope, ExecChain chain) throws IOException, HttpException {
+		ScheduledFuture<?> abort = scheduler.schedule(() -> {
+			logger.warn("HTTP call {} {} still running after {} ms; aborting it.", request.getMethod(), scope.route.getTargetHost(), timeoutMs);
+			// Cancelling the request also keeps a retry from starting over on a new connection.
+			if (scope.originalRequest instanceof Cancellable cancellable) {
+				cancellable.cancel();
+			} else {
+				scope.execRuntime.discardEndpoint();
+			}
+		}, timeoutMs, TimeUnit.MILLISECONDS);
+		ClassicHttpResponse response;
+		try {
+			response = chain.proceed(request, scope);
+		} catch (IOException | HttpException | RuntimeException e) {
+			abort.cancel(false);
+			throw e;
+		}
+		HttpEntity entity = response.getEntity();
+		if (entity == null) {
+			abort.cancel(false);
+			return response;
+		}
+		// The body is read after this returns, so the deadline stays armed until it is closed.
+		response.setEntity(new HttpEntityWrapper(entity) {
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					abort.cancel(false);
+				}
+			}
+		});
+		return response;
+	}
+
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+	}
+
+}
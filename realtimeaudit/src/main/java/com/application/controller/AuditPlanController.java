@@ -1,12 +1,16 @@
 package com.application.controller;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,13 +18,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.application.DTO.AuditPlanDTO;
 import com.application.DTO.AuditPlanResponseDTO;
+import com.application.DTO.PlanGenerationJobDTO;
 import com.application.entities.AuditPlan;
 import com.application.service.AuditPlanService;
 import com.application.service.AuditPlanServiceImpl;
+import com.application.service.PlanGenerationJobService;
 
 @RestController
 @RequestMapping("/api")
@@ -30,19 +38,34 @@ public class AuditPlanController {
 	
 	@Autowired
     private AuditPlanService auditPlanService;
+	
+	@Autowired
+    private PlanGenerationJobService planGenerationJobService;
 
+	// Queues plan generation and answers 202 with the job at once; poll GET /process/{jobId} for the result.
 	@PostMapping("/process") // Or "/assignments/generate-plan" to match Streamlit
-	public ResponseEntity<?> generateAuditPlan() { // Changed return type to wildcard for flexibility
+	public ResponseEntity<?> generateAuditPlan(@RequestParam(required = false) String engine, // Changed return type to wildcard for flexibility
+	        @RequestParam(defaultValue = "false") boolean incremental) {
 	    try {
-	        // --- CRITICAL FIX: The service now returns a list of DTOs, not entities ---
-	        List<AuditPlanResponseDTO> newPlanDTOs = auditPlanService.generateAndSaveAuditPlan();
-	        
-	        // This response is now safe from lazy loading errors and structured for your Streamlit app.
-	        return ResponseEntity.ok(Map.of(
-	            "message", "Successfully generated " + newPlanDTOs.size() + " new assignments.",
-	            "assignments", newPlanDTOs
-	        ));
+	        // "engine" picks the assignment strategy (hungarian, remote, ...); empty means assignment.engine.default.
+	        // "incremental=true" only re-solves auditors and stores that changed since the last successful plan.
+	        PlanGenerationJobDTO job = planGenerationJobService.submit(engine, incremental);
+	        return ResponseEntity
+	                .accepted()
+	                .location(URI.create("/api/process/" + job.getJobId()))
+	                .body(job);
 	        
+	    } catch (IllegalArgumentException e) {
+	        logger.error("Rejected audit plan generation request: {}", e.getMessage());
+	        return ResponseEntity
+	                .status(HttpStatus.BAD_REQUEST)
+	                .body(Map.of("error", e.getMessage()));
+	    } catch (TaskRejectedException e) {
+	        logger.warn("Plan generation queue is full; rejecting request.");
+	        return ResponseEntity
+	                .status(HttpStatus.SERVICE_UNAVAILABLE)
+	                .header(HttpHeaders.RETRY_AFTER, "30")
+	                .body(Map.of("error", "Too many plan generation jobs are waiting. Try again later."));
 	    } catch (Exception e) {
 	        logger.error("Error during audit plan generation", e); // Use a logger here
 	        return ResponseEntity
@@ -50,6 +73,15 @@ public class AuditPlanController {
 	                .body(Map.of("error", "An internal server error occurred.", "details", e.getMessage()));
 	    }
 	}
+	
+	@GetMapping("/process/{jobId}")
+	public ResponseEntity<?> getPlanGenerationJob(@PathVariable String jobId) {
+	    return planGenerationJobService.findJob(jobId)
+	            .<ResponseEntity<?>>map(ResponseEntity::ok)
+	            .orElseGet(() -> ResponseEntity
+	                    .status(HttpStatus.NOT_FOUND)
+	                    .body(Map.of("error", "No plan generation job with ID " + jobId + ".")));
+	}
     
     @PutMapping("/audit-plan/{id}")
     public ResponseEntity<?> updateAuditPlan(
@@ -77,6 +109,13 @@ public class AuditPlanController {
         }
     }
     
+    // NDJSON export: rows are written as they are read, so memory stays flat however many plans exist.
+    @GetMapping(value = "/audit-plans/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAuditPlans() {
+        StreamingResponseBody body = out -> auditPlanService.exportAuditPlans(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
     @GetMapping("/audit-plans")
     public ResponseEntity<?> findAllAuditPlans() {
         try {
@@ -1,9 +1,12 @@
 package com.application.controller;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,21 +14,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.application.DTO.AuditorStatusUpdateDTO;
+import com.application.DTO.BulkStatusUpdateResultDTO;
+import com.application.DTO.ImportReportDTO;
 import com.application.entities.Auditors;
 import com.application.service.AuditorService;
+import com.application.service.BulkImportService;
+import com.application.service.StatusChangeRejectedException;
 
 @RestController
 @RequestMapping("/api")
 public class AuditorController {
 	
+	private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+	
 	private final AuditorService auditorService;
 	
+	private final BulkImportService bulkImportService;
+	
 	@Autowired
-	public AuditorController(AuditorService auditorService) {
+	public AuditorController(AuditorService auditorService, BulkImportService bulkImportService) {
 		this.auditorService = auditorService;
+		this.bulkImportService = bulkImportService;
 	}
 	
 	@PostMapping("/auditor")
@@ -41,6 +56,20 @@ public class AuditorController {
 		}
 	}
 	
+	// Bulk load with COPY: text/csv with a header row, or NDJSON; invalid rows are skipped and listed in the report.
+	@PostMapping(value = "/auditor/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson" })
+	public ResponseEntity<ImportReportDTO> importAuditors(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+		try {
+			boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV);
+			return new ResponseEntity<>(bulkImportService.importAuditors(body, csv), HttpStatus.OK);
+		} catch (Exception e) {
+			return ResponseEntity
+					.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.header("Error-Message", e.getMessage())
+					.build();
+		}
+	}
+	
 	@GetMapping("/auditors")
 	public ResponseEntity<List<Auditors>> getAllAuditors(){
 		try {
@@ -54,6 +83,13 @@ public class AuditorController {
 		}
 	}
 	
+	// NDJSON export: rows are written as they are read, so memory stays flat however many auditors exist.
+	@GetMapping(value = "/auditors/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllAuditors(){
+		StreamingResponseBody body = out -> auditorService.exportAuditors(out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+	
 	@GetMapping("/auditors/available")
 	public ResponseEntity<List<Auditors>> getAvailableAuditors(){
 		try {
@@ -85,6 +121,26 @@ public class AuditorController {
 	
 	
 
+	// Shift changes: every (id, status) pair in one transaction, then one reassignment pass for all orphaned stores.
+	@PutMapping("/auditors/status")
+	public ResponseEntity<BulkStatusUpdateResultDTO> updateAvailabilityStatuses(@RequestBody List<AuditorStatusUpdateDTO> updates) {
+		try {
+			return new ResponseEntity<>(auditorService.updateAvailabilityStatuses(updates), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity
+					.status(HttpStatus.BAD_REQUEST)
+					.header("Error-Message", e.getMessage())
+					.build();
+		} catch (Exception e) {
+			return ResponseEntity
+					.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.header("Error-Message", e.getMessage())
+					.build();
+		}
+	}
+	
+	// 202: the status is saved, the reassignment it may trigger is queued (StatusChangePipeline).
+	// 503: the pipeline is full and nothing was saved.
 	@PutMapping("/auditor/{id}")
 	public ResponseEntity<Auditors> updateAvailabilityStatus(
 	        @PathVariable int id,
@@ -92,8 +148,14 @@ public class AuditorController {
 	
 	    try {
 	    		Auditors updated = auditorService.updateAvailabilityStatus(id, status);
-		    return new ResponseEntity<>(updated, HttpStatus.OK);
+		    return new ResponseEntity<>(updated, HttpStatus.ACCEPTED);
 	    	
+	    } catch (StatusChangeRejectedException e) {
+	    	return ResponseEntity
+	    			.status(HttpStatus.SERVICE_UNAVAILABLE)
+	    			.header(HttpHeaders.RETRY_AFTER, "5")
+	    			.header("Error-Message", e.getMessage())
+	    			.build();
 	    }catch (Exception e) {
 	    	return  ResponseEntity
 					.status(HttpStatus.INTERNAL_SERVER_ERROR)
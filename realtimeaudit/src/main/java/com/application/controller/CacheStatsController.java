@@ -0,0 +1,28 @@
+package com.application.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.application.service.SnapshotCache;
+
+@RestController
+@RequestMapping("/api")
+public class CacheStatsController {
+
+	private final SnapshotCache snapshotCache;
+
+	public CacheStatsController(SnapshotCache snapshotCache) {
+		this.snapshotCache = snapshotCache;
+	}
+
+	// Hit/miss counters of the available-auditor and open-store caches.
+	@GetMapping("/cache/stats")
+	public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+		return ResponseEntity.ok(snapshotCache.stats());
+	}
+
+}
@@ -1,29 +1,42 @@
 package com.application.controller;
 
+import java.io.InputStream;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.application.DTO.ImportReportDTO;
 import com.application.entities.Store;
+import com.application.service.BulkImportService;
+import com.application.service.StatusChangeRejectedException;
 import com.application.service.StoreService;
 
 @RestController
 @RequestMapping("/api")
 public class StoreController {
 	
+	private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+	
 	private final StoreService storeService;
 	
+	private final BulkImportService bulkImportService;
+	
 	@Autowired
-	public StoreController(StoreService storeService) {
+	public StoreController(StoreService storeService, BulkImportService bulkImportService) {
 		this.storeService = storeService;
+		this.bulkImportService = bulkImportService;
 	}
 	
 	@PostMapping("/store")
@@ -41,6 +54,20 @@ public class StoreController {
 
 	}
 	
+	// Bulk load with COPY: text/csv with a header row, or NDJSON; invalid rows are skipped and listed in the report.
+	@PostMapping(value = "/store/import", consumes = { "text/csv", MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson" })
+	public ResponseEntity<ImportReportDTO> importStores(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+		try {
+			boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV);
+			return new ResponseEntity<>(bulkImportService.importStores(body, csv), HttpStatus.OK);
+		} catch (Exception e) {
+			return ResponseEntity
+					.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.header("Error-Message", e.getMessage())
+					.build();
+		}
+	}
+	
 	@GetMapping("/store")
 	public ResponseEntity<List<Store>> getAllStores(){
 		try {
@@ -56,6 +83,13 @@ public class StoreController {
 	}
 	
 	
+	// NDJSON export: rows are written as they are read, so memory stays flat however many stores exist.
+	@GetMapping(value = "/store/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAllStores(){
+		StreamingResponseBody body = out -> storeService.exportStores(out);
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+	
 	@GetMapping("/store/open")
 	public ResponseEntity<List<Store>> findByAvailableStores(){
 		try {
@@ -69,12 +103,20 @@ public class StoreController {
 		}		
 	}
 	
+	// 202: the status is saved, removing a closed store's plan is queued (StatusChangePipeline).
+	// 503: the pipeline is full and nothing was saved.
 	@PutMapping("/store/{id}")
 	public ResponseEntity<Store> updateStoreStatus(@PathVariable int id, @RequestParam Store.StoreStatus status){
 		try {
 			
 			Store updateStore = storeService.updateStoreStatus(id, status);
-			return new ResponseEntity<>(updateStore, HttpStatus.OK);
+			return new ResponseEntity<>(updateStore, HttpStatus.ACCEPTED);
+		} catch (StatusChangeRejectedException e) {
+			return ResponseEntity
+					.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.header(HttpHeaders.RETRY_AFTER, "5")
+					.header("error message", e.getMessage())
+					.build();
 		}catch (Exception e) {
 			return ResponseEntity
 					.status(HttpStatus.INTERNAL_SERVER_ERROR)
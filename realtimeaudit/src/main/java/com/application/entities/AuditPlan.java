@@ -8,24 +8,32 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name="audit_plan")
+// Schema lives in db/migration (V2__planning_indexes.sql); a store has at most one plan.
+@Table(name="audit_plan",
+		uniqueConstraints = @UniqueConstraint(name = "uk_audit_plan_store_id", columnNames = "store_id"),
+		indexes = @Index(name = "idx_audit_plan_auditor_id", columnList = "auditor_id"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class AuditPlan {
 
+	// Sequence with a pooled allocation instead of IDENTITY, so Hibernate can batch plan inserts.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_plan_seq")
+	@SequenceGenerator(name = "audit_plan_seq", sequenceName = "audit_plan_seq", allocationSize = 50)
 	@Column(name = "audit_id")
 	private int id;
 
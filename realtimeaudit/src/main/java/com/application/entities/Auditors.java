@@ -1,5 +1,8 @@
 package com.application.entities;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -8,6 +11,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,7 +21,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name="auditors")
+@Table(name="auditors", indexes = @Index(name = "idx_auditors_updated_at", columnList = "updated_at"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -49,6 +55,17 @@ public class Auditors {
 	@Column(name="availability_status")
 	private AvailabilityStatus availabilityStatus;
 	
+	// Set on every insert and update, and when a deleted plan frees the auditor; incremental planning reads changes since its last run.
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	@Column(name="updated_at")
+	private Instant updatedAt;
+	
+	@PrePersist
+	@PreUpdate
+	public void markChanged() {
+		updatedAt = Instant.now();
+	}
+	
 	public enum AvailabilityStatus{
 		AVAILABLE, 
 		UNAVAILABLE,
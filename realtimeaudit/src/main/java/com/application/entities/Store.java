@@ -1,5 +1,9 @@
 package com.application.entities;
 
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -7,6 +11,9 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -14,7 +21,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name="store")
+@Table(name="store", indexes = @Index(name = "idx_store_updated_at", columnList = "updated_at"))
 @Getter 
 @Setter
 @NoArgsConstructor
@@ -42,6 +49,17 @@ public class Store {
 	@Column(name="store_status", nullable = false)
 	private StoreStatus storeStatus = StoreStatus.OPEN;
 	
+	// Set on every insert and update, and when a deleted plan frees the store; incremental planning reads changes since its last run.
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	@Column(name="updated_at")
+	private Instant updatedAt;
+	
+	@PrePersist
+	@PreUpdate
+	public void markChanged() {
+		updatedAt = Instant.now();
+	}
+	
 	
 	public enum StoreStatus{
 		OPEN,
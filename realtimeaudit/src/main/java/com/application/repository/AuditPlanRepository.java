@@ -1,22 +1,76 @@
 package com.application.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.application.DTO.AuditPlanResponseDTO;
+import com.application.DTO.AuditorPlanCount;
 import com.application.entities.AuditPlan;
 import com.application.entities.Auditors;
 import com.application.entities.Store;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AuditPlanRepository extends JpaRepository<AuditPlan, Integer>{
 	
+	// Stores are fetched with the plans; reassignment reads their locations after the query's transaction.
+	@EntityGraph(attributePaths = "store")
 	List<AuditPlan> findByAuditors(Auditors auditor);
     
+    @EntityGraph(attributePaths = "store")
+    List<AuditPlan> findByAuditorsIdIn(Collection<Integer> auditorIds);
+    
     Optional<AuditPlan> findByStore(Store store);
     
+    // Reassignment locks the plans it rewrites (SELECT ... FOR UPDATE, in id order so concurrent passes cannot
+    // deadlock); a pass that waited reads the holder the other one committed.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<AuditPlan> findByStoreInOrderById(Collection<Store> stores);
+
+    // Which of these auditors already hold a plan (index idx_audit_plan_auditor_id).
+    @Query("SELECT DISTINCT ap.auditors.id FROM AuditPlan ap WHERE ap.auditors.id IN :auditorIds")
+    List<Integer> findPlannedAuditorIdsIn(@Param("auditorIds") Collection<Integer> auditorIds);
+    
+    // Every planned store and every auditor holding a plan, for ranking standby auditors (StandbyAuditors).
+    @Query("SELECT ap.store FROM AuditPlan ap")
+    List<Store> findPlannedStores();
+    
+    @Query("SELECT DISTINCT ap.auditors.id FROM AuditPlan ap")
+    List<Integer> findPlannedAuditorIds();
+    
+    // Plans held per auditor, for capacity planning; auditors without plans are left out.
+    @Query("SELECT new com.application.DTO.AuditorPlanCount(ap.auditors.id, COUNT(ap)) FROM AuditPlan ap "
+    		+ "WHERE ap.auditors.id IN :auditorIds GROUP BY ap.auditors.id")
+    List<AuditorPlanCount> countPlansByAuditorIdIn(@Param("auditorIds") Collection<Integer> auditorIds);
+    
+    // Read-side projections: one joined query straight into DTOs, no managed entities or lazy proxies.
+    @Query("SELECT new com.application.DTO.AuditPlanResponseDTO(ap.id, ap.auditStatus, ap.auditPriority, a.id, a.name, s.id, s.name) "
+    		+ "FROM AuditPlan ap JOIN ap.auditors a JOIN ap.store s ORDER BY ap.id")
+    List<AuditPlanResponseDTO> findAllResponses();
+    
+    @Query("SELECT new com.application.DTO.AuditPlanResponseDTO(ap.id, ap.auditStatus, ap.auditPriority, a.id, a.name, s.id, s.name) "
+    		+ "FROM AuditPlan ap JOIN ap.auditors a JOIN ap.store s WHERE ap.id IN :ids ORDER BY ap.id")
+    List<AuditPlanResponseDTO> findResponsesByIdIn(@Param("ids") Collection<Integer> ids);
+    
+    // Cursor-backed variant for NDJSON export; the caller must consume it inside a transaction.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.application.DTO.AuditPlanResponseDTO(ap.id, ap.auditStatus, ap.auditPriority, a.id, a.name, s.id, s.name) "
+    		+ "FROM AuditPlan ap JOIN ap.auditors a JOIN ap.store s ORDER BY ap.id")
+    Stream<AuditPlanResponseDTO> streamAllResponses();
+    
     
 
 }
@@ -1,15 +1,24 @@
 package com.application.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.application.entities.Auditors;
 import com.application.entities.Auditors.AvailabilityStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface AuditorRepository extends JpaRepository<Auditors, Integer> {
 	
@@ -19,9 +28,39 @@ public interface AuditorRepository extends JpaRepository<Auditors, Integer> {
 	
 	List<Auditors> findByIdNotAndAvailabilityStatus(int id, Auditors.AvailabilityStatus status);
 	
-	 @Query("SELECT a FROM Auditors a WHERE a.availabilityStatus = 'AVAILABLE' AND a.id NOT IN (SELECT ap.auditors.id FROM AuditPlan ap)")
+	 // Anti-join over idx_auditors_available and idx_audit_plan_auditor_id (V2__planning_indexes.sql).
+	 @Query("SELECT a FROM Auditors a WHERE a.availabilityStatus = 'AVAILABLE' "
+	 		+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.auditors = a)")
 	    List<Auditors> findAvailableAndUnassignedAuditors();
 	 
 	 //List<Auditors> findByAvailabilityStatus1(Auditors.AvailabilityStatus status);
+	 
+	 // Incremental planning: only rows written since the given instant (idx_auditors_updated_at).
+	 @Query("SELECT a FROM Auditors a WHERE a.availabilityStatus = 'AVAILABLE' AND a.updatedAt >= :since "
+	 		+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.auditors = a)")
+	 List<Auditors> findAvailableAndUnassignedChangedSince(@Param("since") Instant since);
+	 
+	 @Query("SELECT a FROM Auditors a WHERE a.id IN :ids AND a.availabilityStatus = 'AVAILABLE' "
+	 		+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.auditors = a)")
+	 List<Auditors> findAvailableAndUnassignedByIdIn(@Param("ids") Collection<Integer> ids);
+	 
+	 // Capacity planning: available auditors, planned or not, whose hours leave room for one more audit once
+	 // hoursPerAudit is counted for every plan they hold. The epsilon is AuditorCapacity's, so hours such as
+	 // 10.1 - 6.1 that fall a rounding error short of an audit count the same here as in the engine.
+	 @Query("SELECT a FROM Auditors a WHERE a.availabilityStatus = 'AVAILABLE' "
+	 		+ "AND a.workLoadCapacityHours - a.currentAssignedHours "
+	 		+ "- :hoursPerAudit * (SELECT COUNT(ap) FROM AuditPlan ap WHERE ap.auditors = a) >= :hoursPerAudit - 1e-9")
+	 List<Auditors> findAvailableWithRoomFor(@Param("hoursPerAudit") double hoursPerAudit);
+	 
+	 // Bulk availability update; bypasses @PreUpdate, so updated_at is set here for incremental planning.
+	 @Modifying(flushAutomatically = true, clearAutomatically = true)
+	 @Query("UPDATE Auditors a SET a.availabilityStatus = :status, a.updatedAt = :updatedAt WHERE a.id IN :ids")
+	 int updateAvailabilityStatus(@Param("ids") Collection<Integer> ids, @Param("status") AvailabilityStatus status,
+	 		@Param("updatedAt") Instant updatedAt);
+	 
+	 // Cursor-backed variant for NDJSON export; the caller must consume it inside a transaction.
+	 @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	 @Query("SELECT a FROM Auditors a ORDER BY a.id")
+	 Stream<Auditors> streamAll();
 
 }
@@ -1,21 +1,47 @@
 package com.application.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.application.entities.Store;
 import com.application.entities.Store.StoreStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Integer> {
 	List<Store> findByStoreStatus(Store.StoreStatus storeStatus);
 	Optional<Store> findByName(String storeName); 
 	
-	@Query("SELECT s FROM Store s WHERE s.storeStatus = 'OPEN' AND s.id NOT IN (SELECT ap.store.id FROM AuditPlan ap)")
+	// Anti-join over idx_store_open and uk_audit_plan_store_id (V2__planning_indexes.sql).
+	@Query("SELECT s FROM Store s WHERE s.storeStatus = 'OPEN' "
+			+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.store = s)")
     List<Store> findOpenAndUnassignedStores();
 	
 	//List<Store> findByStoreStatus1(Store.StoreStatus status);
+	
+	// Incremental planning: only rows written since the given instant (idx_store_updated_at).
+	@Query("SELECT s FROM Store s WHERE s.storeStatus = 'OPEN' AND s.updatedAt >= :since "
+			+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.store = s)")
+	List<Store> findOpenAndUnassignedChangedSince(@Param("since") Instant since);
+	
+	// Unplanned open stores inside a lat/lon box, for auditors that became free since the last run.
+	@Query("SELECT s FROM Store s WHERE s.storeStatus = 'OPEN' "
+			+ "AND s.locationLat BETWEEN :minLat AND :maxLat AND s.locationLon BETWEEN :minLon AND :maxLon "
+			+ "AND NOT EXISTS (SELECT ap FROM AuditPlan ap WHERE ap.store = s)")
+	List<Store> findOpenAndUnassignedWithin(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+			@Param("minLon") double minLon, @Param("maxLon") double maxLon);
+	
+	// Cursor-backed variant for NDJSON export; the caller must consume it inside a transaction.
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+	@Query("SELECT s FROM Store s ORDER BY s.id")
+	Stream<Store> streamAll();
 }
@@ -0,0 +1,40 @@
+package com.application.service;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.SolverStoreResult;
+
+/**
+ * Strategy that turns a snapshot of auditors and stores into store -> auditor recommendations.
+ * Every engine answers in the same shape as the Python solver, so the validation and
+ * persistence in {@link AuditPlanServiceImpl} does not care which one produced the result.
+ */
+public interface AssignmentEngine {
+
+	// Name used to select the engine through "assignment.engine.default" or the ?engine= request parameter.
+	String getName();
+
+	AssignmentResponseDTO assign(AssignmentRequestDTO request);
+
+	// Whether the engine may give an auditor several stores within its workload hours (see AuditorCapacity)
+	// instead of one store each; the planner then offers planned auditors with room and validates against hours.
+	default boolean isCapacityAware() {
+		return false;
+	}
+
+	// Hands every store recommendation to a consumer from the supplier and returns that consumer; engines reading
+	// a wire format do so while parsing. A consumer that saw part of an unusable response is dropped, and
+	// whatever the engine falls back to goes to a fresh one.
+	default <C extends Consumer<SolverStoreResult>> C assign(AssignmentRequestDTO request, Supplier<C> storeResults) {
+		C consumer = storeResults.get();
+		AssignmentResponseDTO response = assign(request);
+		if (response != null && response.getData() != null && response.getData().getStores() != null) {
+			response.getData().getStores().forEach(consumer);
+		}
+		return consumer;
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.application.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentRequestDTO;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters for the planning and reassignment pipeline, exported through Actuator at
+ * /actuator/metrics and /actuator/prometheus. Names and tags live here so the services only say
+ * what happened; histogram buckets and SLO boundaries are set in application.properties
+ * (management.metrics.distribution.*).
+ */
+@Component
+public class AssignmentMetrics {
+
+	// Solver (engine) call duration, tagged by engine and by the operation that called it.
+	public static final String SOLVER_LATENCY = "audit.solver.latency";
+
+	// Auditors plus stores sent to the engine per call.
+	public static final String SOLVER_PAYLOAD_ENTITIES = "audit.solver.payload.entities";
+
+	// Remote solver request and response body sizes.
+	public static final String SOLVER_PAYLOAD_BYTES = "audit.solver.payload.bytes";
+
+	// Recommendations saved as plans (accepted) or dropped by validation or reservation (rejected).
+	public static final String RECOMMENDATIONS = "audit.recommendations";
+
+	public static final String DB_WRITE = "audit.db.write";
+
+	public static final String PLAN_GENERATION = "audit.plan.generation";
+
+	public static final String REASSIGNMENT = "audit.reassignment";
+
+	public static final String REASSIGNED_STORES = "audit.reassignment.stores";
+
+	// Orphaned stores covered by promoting a standby auditor, without a solver call; also counted in REASSIGNED_STORES.
+	public static final String STANDBY_PROMOTIONS = "audit.reassignment.standby";
+
+	// From an auditor leaving AVAILABLE to the reassignment of their stores being committed.
+	public static final String DISRUPTION_LATENCY = "audit.disruption.latency";
+
+	public static final String STATUS_UPDATE = "audit.status.update";
+
+	private final MeterRegistry registry;
+
+	public AssignmentMetrics(MeterRegistry registry, StatusChangePipeline statusChangePipeline, AuditorReservations auditorReservations,
+			StandbyAuditors standbyAuditors) {
+		this.registry = registry;
+		Gauge.builder("audit.status.pipeline.queued", statusChangePipeline, StatusChangePipeline::getQueuedCount)
+				.description("Status changes waiting for the coalescing consumer")
+				.register(registry);
+		Gauge.builder("audit.auditor.reservations", auditorReservations, AuditorReservations::getReservedCount)
+				.description("Auditors currently reserved by an in-flight reassignment or plan run")
+				.register(registry);
+		Gauge.builder("audit.standby.stores", standbyAuditors, StandbyAuditors::size)
+				.description("Planned stores with a ranked list of standby auditors")
+				.register(registry);
+	}
+
+	public Timer.Sample start() {
+		return Timer.start(registry);
+	}
+
+	public void solverCalled(Timer.Sample sample, String engine, String operation, AssignmentRequestDTO request) {
+		sample.stop(Timer.builder(SOLVER_LATENCY)
+				.tag("engine", engine)
+				.tag("operation", operation)
+				.register(registry));
+		int auditors = request.getAuditors() == null ? 0 : request.getAuditors().size();
+		int stores = request.getStores() == null ? 0 : request.getStores().size();
+		DistributionSummary.builder(SOLVER_PAYLOAD_ENTITIES)
+				.tag("engine", engine)
+				.tag("operation", operation)
+				.register(registry)
+				.record(auditors + stores);
+	}
+
+	public void solverPayload(int requestBytes, int responseBytes) {
+		DistributionSummary.builder(SOLVER_PAYLOAD_BYTES).baseUnit("bytes").tag("direction", "request").register(registry).record(requestBytes);
+		DistributionSummary.builder(SOLVER_PAYLOAD_BYTES).baseUnit("bytes").tag("direction", "response").register(registry).record(responseBytes);
+	}
+
+	public void recommendations(long accepted, long rejected) {
+		Counter.builder(RECOMMENDATIONS).tag("result", "accepted").register(registry).increment(accepted);
+		Counter.builder(RECOMMENDATIONS).tag("result", "rejected").register(registry).increment(rejected);
+	}
+
+	public void dbWrite(Timer.Sample sample, String operation) {
+		sample.stop(Timer.builder(DB_WRITE).tag("operation", operation).register(registry));
+	}
+
+	public void planGenerated(Timer.Sample sample, String mode, String engine) {
+		sample.stop(Timer.builder(PLAN_GENERATION).tag("mode", mode).tag("engine", engine).register(registry));
+	}
+
+	public void reassigned(Timer.Sample sample, int reassigned, int unassigned) {
+		sample.stop(Timer.builder(REASSIGNMENT).register(registry));
+		Counter.builder(REASSIGNED_STORES).tag("outcome", "reassigned").register(registry).increment(reassigned);
+		Counter.builder(REASSIGNED_STORES).tag("outcome", "unassigned").register(registry).increment(unassigned);
+	}
+
+	public void standbyPromoted(int promoted) {
+		Counter.builder(STANDBY_PROMOTIONS).register(registry).increment(promoted);
+	}
+
+	// source is "single" for PUT /api/auditor/{id} (includes the coalescing window) or "bulk".
+	public void disruptionCovered(Instant disruptedAt, String source) {
+		Timer.builder(DISRUPTION_LATENCY)
+				.tag("source", source)
+				.register(registry)
+				.record(Duration.between(disruptedAt, Instant.now()));
+	}
+
+	public void statusUpdated(Timer.Sample sample, String entity, Enum<?> status) {
+		sample.stop(Timer.builder(STATUS_UPDATE).tag("entity", entity).tag("status", status.name()).register(registry));
+	}
+
+}
@@ -1,6 +1,9 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 import com.application.DTO.AssignmentRequestDTO;
 import com.application.DTO.AssignmentResponseDTO;
@@ -16,15 +19,28 @@ public interface AuditPlanService {
 	
 	List<AuditPlanResponseDTO> generateAndSaveAuditPlan();
 	
+	List<AuditPlanResponseDTO> generateAndSaveAuditPlan(String engineName);
+	
+	List<AuditPlanResponseDTO> generateIncrementalAuditPlan(String engineName);
+	
+	// Canonical name of the engine a run would use; throws IllegalArgumentException for an unknown one.
+	String resolveEngineName(String engineName);
+	
 	AssignmentRequestDTO mapEntitiesToRequestDTO(List<Auditors> auditors, List<Store> stores);
 	
 	List<AuditPlan> processAndSaveAuditPlans(AssignmentResponseDTO prediction);
 	
-	AuditPlan reassignStore(Store storeToReassign, List<Auditors> candidateAuditors);
+	// Only plans still held by one of holderIds are rewritten or removed; a store another pass has
+	// already moved is left to its new auditor.
+	AuditPlan reassignStore(Store storeToReassign, int holderId, List<Auditors> candidateAuditors);
+	
+	List<AuditPlan> reassignStores(List<Store> storesToReassign, Set<Integer> holderIds, List<Auditors> candidateAuditors);
 	
 	AuditPlanResponseDTO updateAuditPlanStatus(int auditPlanId, AuditPlanDTO updateDTO);
 	
 	List<AuditPlanResponseDTO> findAllAuditPlans();
 	
+	long exportAuditPlans(OutputStream out) throws IOException;
+	
 
 }
@@ -1,27 +1,36 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.application.DTO.AssignmentRequestDTO;
 import com.application.DTO.AssignmentResponseDTO;
 import com.application.DTO.AuditPlanDTO;
 import com.application.DTO.AuditPlanResponseDTO;
 import com.application.DTO.AuditorDTO;
+import com.application.DTO.AuditorPlanCount;
+import com.application.DTO.SolverStoreResult;
 import com.application.DTO.StoreDTO;
 import com.application.entities.AuditPlan;
 import com.application.entities.Auditors;
@@ -30,22 +39,20 @@ import com.application.repository.AuditPlanRepository;
 import com.application.repository.AuditorRepository;
 import com.application.repository.StoreRepository;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class AuditPlanServiceImpl implements AuditPlanService {
 	 
-	@Value("${python.api.url}")
-	private String pythonApiUrl;
-	
-	@Value("${python.api.key}")
-	private String pythonApiKey;
+	@Value("${assignment.engine.default:hungarian}")
+	private String defaultEngine;
 	 
 	private static final Logger logger = LoggerFactory.getLogger(AuditPlanServiceImpl.class);
+	
+	private static final int RESPONSE_ID_CHUNK_SIZE = 1000;
 	 
 	@Autowired
-	private RestTemplate restTemplate;
+	private List<AssignmentEngine> assignmentEngines;
 	 
 	@Autowired
 	private AuditorRepository auditorRepository;
@@ -56,122 +63,351 @@ public class AuditPlanServiceImpl implements AuditPlanService {
 	@Autowired
 	private AuditPlanRepository auditPlanRepository;
 	 
-	// This method is for debugging and can be called by other methods. It is correct.
+	@Autowired
+	private NdjsonWriter ndjsonWriter;
+	 
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	 
+	@Autowired
+	private AuditorSpatialIndex auditorSpatialIndex;
+	 
+	@Autowired
+	private AuditorReservations auditorReservations;
+	 
+	@Autowired
+	private AssignmentMetrics metrics;
+	 
+	@Autowired
+	private AuditorCapacity auditorCapacity;
+	 
+	@Autowired
+	private StandbyAuditors standbyAuditors;
+	 
+	@Value("${plan.incremental.candidate-count:10}")
+	private int incrementalCandidateCount;
+	 
+	@Value("${plan.incremental.radius-km:50}")
+	private double incrementalRadiusKm;
+	 
+	private final Duration incrementalOverlap;
+	 
+	// Start (less the overlap) of the last committed plan run; null until one succeeds after startup.
+	private final AtomicReference<Instant> lastPlannedAt = new AtomicReference<>();
+	 
+	public AuditPlanServiceImpl(@Value("${plan.incremental.overlap-seconds:60}") long incrementalOverlapSeconds) {
+		this.incrementalOverlap = Duration.ofSeconds(incrementalOverlapSeconds);
+	}
+	 
+	// Kept for callers that want the raw solver answer; the HTTP call itself lives in RemoteSolverAssignmentEngine.
 	@Override
 	public AssignmentResponseDTO getAssignment(AssignmentRequestDTO request) {
-	    ObjectMapper objectMapper = new ObjectMapper();
-	    try {
-	        String jsonPayload = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(request);
-	        System.out.println("==================== SENDING TO PYTHON ====================");
-	        System.out.println(jsonPayload);
-	        System.out.println("=========================================================");
-	    } catch (JsonProcessingException e) {
-	        logger.error("Error converting request DTO to JSON", e);
-	    }
-	    
-	    org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-	    headers.set("Content-Type", "application/json");
-	    headers.set("X-API-Key", pythonApiKey);
-	    
-	    HttpEntity<AssignmentRequestDTO> entity = new HttpEntity<>(request, headers);
-	    String fullUrl = pythonApiUrl + "/api/process-assignments";
-
-	    ResponseEntity<AssignmentResponseDTO> response = restTemplate.exchange(
-	        fullUrl, HttpMethod.POST, entity, AssignmentResponseDTO.class
-	    );
-
-	    try {
-	        String receivedJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(response.getBody());
-	        System.out.println("================== RECEIVED FROM PYTHON ===================");
-	        System.out.println(receivedJson);
-	        System.out.println("=========================================================");
-	    } catch (JsonProcessingException e) {
-	        logger.error("Error converting response DTO to JSON for printing", e);
-	    }
-	    return response.getBody();
+		Timer.Sample sample = metrics.start();
+		AssignmentResponseDTO response = resolveEngine(RemoteSolverAssignmentEngine.NAME).assign(request);
+		metrics.solverCalled(sample, RemoteSolverAssignmentEngine.NAME, "direct", request);
+		return response;
+	}
+
+	// Looks up an engine by name; a null or blank name means the one configured in assignment.engine.default.
+	AssignmentEngine resolveEngine(String engineName) {
+		String name = (engineName == null || engineName.isBlank()) ? defaultEngine : engineName;
+		return assignmentEngines.stream()
+				.filter(engine -> engine.getName().equalsIgnoreCase(name))
+				.findFirst()
+				.orElseThrow(() -> new IllegalArgumentException("Unknown assignment engine: " + name));
+	}
+
+	@Override
+	public String resolveEngineName(String engineName) {
+		return resolveEngine(engineName).getName();
 	}
 
     // This is the main method for generating new plans. It is now correct.
 	@Override
     @Transactional
     public List<AuditPlanResponseDTO> generateAndSaveAuditPlan() {
-        logger.info("--- Starting AI-Informed, Java-Enforced audit plan generation ---");
+        return generateAndSaveAuditPlan(null);
+    }
+
+	@Override
+    @Transactional
+    public List<AuditPlanResponseDTO> generateAndSaveAuditPlan(String engineName) {
+        AssignmentEngine engine = resolveEngine(engineName);
+        Instant runStartedAt = Instant.now();
+        Timer.Sample planSample = metrics.start();
+        logger.info("--- Starting audit plan generation with the '{}' engine ---", engine.getName());
         
-        List<Auditors> unassignedAuditors = auditorRepository.findAvailableAndUnassignedAuditors();
+        // Capacity planning also offers auditors that already hold plans, as long as their hours leave room.
+        boolean capacity = engine.isCapacityAware();
+        List<Auditors> plannableAuditors = capacity
+                ? auditorRepository.findAvailableWithRoomFor(auditorCapacity.getHoursPerAudit())
+                : auditorRepository.findAvailableAndUnassignedAuditors();
         List<Store> unassignedStores = storeRepository.findOpenAndUnassignedStores();
         
-        if (unassignedStores.isEmpty() || unassignedAuditors.isEmpty()) {
+        if (unassignedStores.isEmpty() || plannableAuditors.isEmpty()) {
             logger.warn("No unassigned stores or available auditors to plan. Process finished.");
+            advanceWatermarkAfterCommit(runStartedAt);
+            metrics.planGenerated(planSample, "full", engine.getName());
             return new ArrayList<>();
         }
 
-        AssignmentRequestDTO requestDto = mapEntitiesToRequestDTO(unassignedAuditors, unassignedStores);
-        AssignmentResponseDTO predictionResponse = getAssignment(requestDto);
-        
-        // --- FIX 1: Call the correct processing method ---
-        List<AuditPlan> savedAssignments = processAndSaveAuditPlans(predictionResponse);
+        AssignmentRequestDTO requestDto = mapEntitiesToRequestDTO(plannableAuditors, unassignedStores);
+
+        // Recommendations are validated as the engine produces them; no intermediate response tree is built.
+        Map<Integer, Integer> auditsLeftByAuditorId = capacity
+                ? addWorkloadHours(requestDto, plannableAuditors, countPlansByAuditor(
+                        plannableAuditors.stream().map(Auditors::getId).collect(Collectors.toList())))
+                : null;
+        Timer.Sample solverSample = metrics.start();
+        RecommendationValidator validator = engine.assign(requestDto, () -> new RecommendationValidator(auditsLeftByAuditorId));
+        metrics.solverCalled(solverSample, engine.getName(), "plan", requestDto);
+        List<AuditPlan> savedAssignments = saveValidatedAuditPlans(validator, capacity);
         
         logger.info("Finished processing. Saved {} new, validated assignments.", savedAssignments.size());
 
-        return savedAssignments.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        advanceWatermarkAfterCommit(runStartedAt);
+        metrics.planGenerated(planSample, "full", engine.getName());
+        List<Integer> savedIds = savedAssignments.stream().map(AuditPlan::getId).collect(Collectors.toList());
+        return findResponsesByIds(savedIds);
     }
 
-    // This method is for processing the AI response. It is now correct.
+	/**
+	 * Re-solves only what changed since the last successful run: unplanned auditors and stores written
+	 * since then (see their updated_at), the nearest available auditors to those stores, and the
+	 * unplanned stores within plan.incremental.radius-km of those auditors. Falls back to a full run
+	 * when no run has succeeded since startup.
+	 */
 	@Override
-	public List<AuditPlan> processAndSaveAuditPlans(AssignmentResponseDTO prediction) {
-        List<AuditPlan> savedAssignments = new ArrayList<>();
-        Set<Long> assignedAuditorIds = new HashSet<>();
+    @Transactional
+    public List<AuditPlanResponseDTO> generateIncrementalAuditPlan(String engineName) {
+        Instant since = lastPlannedAt.get();
+        if (since == null) {
+            logger.info("No successful plan since startup; running a full plan instead of an incremental one.");
+            return generateAndSaveAuditPlan(engineName);
+        }
+        AssignmentEngine engine = resolveEngine(engineName);
+        if (engine.isCapacityAware()) {
+            logger.info("The '{}' engine plans against workload hours, which the incremental queries do not look at; running a full plan.",
+                    engine.getName());
+            return generateAndSaveAuditPlan(engineName);
+        }
+        Instant runStartedAt = Instant.now();
+        Timer.Sample planSample = metrics.start();
+
+        List<Auditors> changedAuditors = auditorRepository.findAvailableAndUnassignedChangedSince(since);
+        List<Store> changedStores = storeRepository.findOpenAndUnassignedChangedSince(since);
+        logger.info("--- Incremental plan with the '{}' engine: {} auditors and {} stores changed since {} ---",
+                engine.getName(), changedAuditors.size(), changedStores.size(), since);
+        if (changedAuditors.isEmpty() && changedStores.isEmpty()) {
+            advanceWatermarkAfterCommit(runStartedAt);
+            metrics.planGenerated(planSample, "incremental", engine.getName());
+            return new ArrayList<>();
+        }
+
+        // Changed stores may be served by any free auditor nearby, not only by changed ones.
+        Map<Integer, Auditors> candidateAuditors = new LinkedHashMap<>();
+        changedAuditors.forEach(auditor -> candidateAuditors.put(auditor.getId(), auditor));
+        Set<Integer> nearbyAuditorIds = new HashSet<>();
+        for (Store store : changedStores) {
+            nearbyAuditorIds.addAll(auditorSpatialIndex.findNearest(store.getLocationLat(), store.getLocationLon(),
+                    incrementalCandidateCount, candidateAuditors.keySet()));
+        }
+        nearbyAuditorIds.removeAll(candidateAuditors.keySet());
+        if (!nearbyAuditorIds.isEmpty()) {
+            auditorRepository.findAvailableAndUnassignedByIdIn(nearbyAuditorIds)
+                    .forEach(auditor -> candidateAuditors.put(auditor.getId(), auditor));
+        }
+
+        // Changed auditors may pick up stores that have been waiting since an earlier run.
+        Map<Integer, Store> candidateStores = new LinkedHashMap<>();
+        changedStores.forEach(store -> candidateStores.put(store.getId(), store));
+        double latDelta = Math.toDegrees(incrementalRadiusKm / GeoUtils.EARTH_RADIUS_KM);
+        for (Auditors auditor : changedAuditors) {
+            double lonDelta = Math.min(180.0, latDelta / Math.max(0.01, Math.cos(Math.toRadians(auditor.getHomeLat()))));
+            storeRepository.findOpenAndUnassignedWithin(auditor.getHomeLat() - latDelta, auditor.getHomeLat() + latDelta,
+                    auditor.getHomeLon() - lonDelta, auditor.getHomeLon() + lonDelta)
+                    .forEach(store -> candidateStores.putIfAbsent(store.getId(), store));
+        }
+
+        if (candidateAuditors.isEmpty() || candidateStores.isEmpty()) {
+            logger.info("Nothing to match: {} candidate auditors, {} candidate stores.", candidateAuditors.size(), candidateStores.size());
+            advanceWatermarkAfterCommit(runStartedAt);
+            metrics.planGenerated(planSample, "incremental", engine.getName());
+            return new ArrayList<>();
+        }
+
+        AssignmentRequestDTO requestDto = mapEntitiesToRequestDTO(new ArrayList<>(candidateAuditors.values()),
+                new ArrayList<>(candidateStores.values()));
+        Timer.Sample solverSample = metrics.start();
+        RecommendationValidator validator = engine.assign(requestDto, RecommendationValidator::new);
+        metrics.solverCalled(solverSample, engine.getName(), "incremental", requestDto);
+        List<AuditPlan> savedAssignments = saveValidatedAuditPlans(validator, false);
+        logger.info("Incremental plan matched {} auditors against {} stores and saved {} new assignments.",
+                candidateAuditors.size(), candidateStores.size(), savedAssignments.size());
+
+        advanceWatermarkAfterCommit(runStartedAt);
+        metrics.planGenerated(planSample, "incremental", engine.getName());
+        List<Integer> savedIds = savedAssignments.stream().map(AuditPlan::getId).collect(Collectors.toList());
+        return findResponsesByIds(savedIds);
+    }
+
+    // The next incremental run starts from this run's start, less an overlap for transactions that were
+    // still in flight when it read; re-reading a row is harmless because planned rows are filtered out.
+    private void advanceWatermarkAfterCommit(Instant runStartedAt) {
+        Instant watermark = runStartedAt.minus(incrementalOverlap);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastPlannedAt.accumulateAndGet(watermark, (current, next) -> current == null || next.isAfter(current) ? next : current);
+            }
+        });
+    }
+
+    // Newly planned auditors stop standing by, and newly planned stores need standbys of their own.
+    private void rebuildStandbysAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            standbyAuditors.rebuildLater();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                standbyAuditors.rebuildLater();
+            }
+        });
+    }
+
+    // Deleted plans: their auditors may stand by again, if still available, and their stores need no standbys.
+    private void releaseStandbysAfterCommit(Collection<AuditPlan> deletedPlans) {
+        List<Auditors> freedAuditors = deletedPlans.stream().map(AuditPlan::getAuditors).collect(Collectors.toList());
+        List<Integer> storeIds = deletedPlans.stream().map(plan -> plan.getStore().getId()).collect(Collectors.toList());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                standbyAuditors.auditorsAvailable(freedAuditors);
+                standbyAuditors.storesUnplanned(storeIds);
+            }
+        });
+    }
+
+    // Auditors among these that already hold a plan, in IN-clause sized chunks.
+    private Set<Integer> findPlannedAuditorIds(Collection<Integer> auditorIds) {
+        List<Integer> ids = new ArrayList<>(auditorIds);
+        Set<Integer> planned = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += RESPONSE_ID_CHUNK_SIZE) {
+            planned.addAll(auditPlanRepository.findPlannedAuditorIdsIn(ids.subList(from, Math.min(ids.size(), from + RESPONSE_ID_CHUNK_SIZE))));
+        }
+        return planned;
+    }
+
+    // Plans held per auditor, in IN-clause sized chunks; auditors without plans are missing from the map.
+    private Map<Integer, Long> countPlansByAuditor(Collection<Integer> auditorIds) {
+        List<Integer> ids = new ArrayList<>(auditorIds);
+        Map<Integer, Long> plans = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += RESPONSE_ID_CHUNK_SIZE) {
+            auditPlanRepository.countPlansByAuditorIdIn(ids.subList(from, Math.min(ids.size(), from + RESPONSE_ID_CHUNK_SIZE)))
+                    .forEach(count -> plans.put(count.auditorId(), count.plans()));
+        }
+        return plans;
+    }
+
+    // Capacity planning: puts every auditor's hours into the request, whose auditors are in the same order,
+    // and returns how many more stores each of them can take.
+    private Map<Integer, Integer> addWorkloadHours(AssignmentRequestDTO request, List<Auditors> auditors, Map<Integer, Long> plansByAuditorId) {
+        Map<Integer, Integer> auditsLeftByAuditorId = new HashMap<>();
+        for (int i = 0; i < auditors.size(); i++) {
+            Auditors auditor = auditors.get(i);
+            long plans = plansByAuditorId.getOrDefault(auditor.getId(), 0L);
+            AuditorDTO dto = request.getAuditors().get(i);
+            dto.setWorkloadCapacityHours(auditor.getWorkLoadCapacityHours());
+            dto.setCurrentAssignedHours(auditorCapacity.bookedHours(auditor, plans));
+            auditsLeftByAuditorId.put(auditor.getId(), auditorCapacity.auditsLeft(auditor, plans));
+        }
+        return auditsLeftByAuditorId;
+    }
+
+    // Splits large id lists so the IN clause stays well below PostgreSQL's bind parameter limit.
+    private List<AuditPlanResponseDTO> findResponsesByIds(List<Integer> ids) {
+        List<AuditPlanResponseDTO> responses = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += RESPONSE_ID_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + RESPONSE_ID_CHUNK_SIZE));
+            responses.addAll(auditPlanRepository.findResponsesByIdIn(chunk));
+        }
+        return responses;
+    }
 
+    // Validates a complete solver response in memory and persists the accepted recommendations as one batch.
+	@Override
+	public List<AuditPlan> processAndSaveAuditPlans(AssignmentResponseDTO prediction) {
         if (prediction == null || prediction.getData() == null || prediction.getData().getStores() == null) {
             logger.warn("Prediction data is null or empty. Skipping assignment processing.");
-            return savedAssignments;
+            return new ArrayList<>();
         }
 
-        List<Map<String, Object>> storeResults = (List<Map<String, Object>>) (List<?>) prediction.getData().getStores();
-        logger.info("Received {} assignment recommendations from AI. Now validating...", storeResults.size());
+        RecommendationValidator validator = new RecommendationValidator();
+        prediction.getData().getStores().forEach(validator);
+        return saveValidatedAuditPlans(validator, false);
+    }
+
+    // In capacity planning an auditor may already hold plans; it takes stores while its hours leave room.
+    private List<AuditPlan> saveValidatedAuditPlans(RecommendationValidator validator, boolean capacity) {
+        logger.info("Validated {} assignment recommendations; {} rejected.", validator.getReceived(), validator.getRejected());
+        Map<Integer, Integer> auditorIdByStoreId = validator.getAuditorIdByStoreId();
 
-        for (Map<String, Object> storeResult : storeResults) {
-            Object storeIdObj = storeResult.get("store_id");
-            // --- FIX 2: Corrected the typo in the JSON key ---
-            Object auditorIdObj = storeResult.get("assigned_auditor_id"); 
-            
-            logger.debug("Processing recommendation: Store ID = {}, Auditor ID = {}", storeIdObj, auditorIdObj);
+        // A reassignment may have reserved or planned one of these auditors since this run read them.
+        // The reservation is released when the surrounding transaction completes.
+        try (AuditorReservations.Reservation reservation = auditorReservations.reserve(validator.getAssignedAuditorIds())) {
+            Set<Integer> plannedIds = capacity ? Set.of() : findPlannedAuditorIds(reservation.getAuditorIds());
+            Map<Integer, Long> plansByAuditorId = capacity ? countPlansByAuditor(reservation.getAuditorIds()) : Map.of();
+            Map<Integer, Integer> auditsLeftByAuditorId = new HashMap<>();
 
-            if (auditorIdObj != null && storeIdObj != null) {
-                // --- FIX 3: Consistently use Long for all IDs ---
-                int storeId = (int) ((Number) storeIdObj).longValue();
-                int auditorId = (int) ((Number) auditorIdObj).longValue();
+            // One query per entity for everything the accepted recommendations reference.
+            Map<Integer, Auditors> auditorsById = auditorRepository.findAllById(reservation.getAuditorIds()).stream()
+                    .collect(Collectors.toMap(Auditors::getId, auditor -> auditor));
+            Map<Integer, Store> storesById = storeRepository.findAllById(auditorIdByStoreId.keySet()).stream()
+                    .collect(Collectors.toMap(Store::getId, store -> store));
 
-                if (assignedAuditorIds.contains(auditorId)) {
-                    logger.warn("RULE VIOLATION: AI recommended assigning Auditor ID {} again. Ignoring.", auditorId);
-                    continue;
+            // Build the plans and write them in JDBC batches (see hibernate.jdbc.batch_size).
+            List<AuditPlan> plans = new ArrayList<>(auditorIdByStoreId.size());
+            auditorIdByStoreId.forEach((storeId, auditorId) -> {
+                if (!reservation.holds(auditorId) || plannedIds.contains(auditorId)) {
+                    logger.warn("Skipping assignment of Store ID {}: Auditor ID {} was taken by a concurrent reassignment.", storeId, auditorId);
+                    return;
                 }
-                
-                Optional<Auditors> auditorOptional = auditorRepository.findById(auditorId);
-                Optional<Store> storeOptional = storeRepository.findById(storeId);
-
-                if (auditorOptional.isPresent() && storeOptional.isPresent()) {
-                    Auditors auditorEntity = auditorOptional.get();
-                    Store storeEntity = storeOptional.get();
-                    
-                    AuditPlan plan = new AuditPlan();
-                    plan.setAuditors(auditorEntity);
-                    plan.setStore(storeEntity);
-                    plan.setAuditStatus(AuditPlan.AuditStatus.PLANNED);
-                    plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
-
-                    savedAssignments.add(auditPlanRepository.save(plan));
-                    assignedAuditorIds.add((long) auditorId);
-                    logger.info("VALID ASSIGNMENT: Saved plan for Store ID {} with Auditor ID {}.", storeId, auditorId);
-                    
-                } else {
+                Auditors auditorEntity = auditorsById.get(auditorId);
+                Store storeEntity = storesById.get(storeId);
+                if (auditorEntity == null || storeEntity == null) {
                     logger.warn("Could not create assignment. Auditor/Store not found in DB for IDs: Auditor={}, Store={}", auditorId, storeId);
+                    return;
                 }
+                if (capacity) {
+                    int auditsLeft = auditsLeftByAuditorId.computeIfAbsent(auditorId,
+                            id -> auditorCapacity.auditsLeft(auditorEntity, plansByAuditorId.getOrDefault(id, 0L)));
+                    if (auditsLeft <= 0) {
+                        logger.warn("Skipping assignment of Store ID {}: Auditor ID {} has no hours left for another audit.", storeId, auditorId);
+                        return;
+                    }
+                    auditsLeftByAuditorId.put(auditorId, auditsLeft - 1);
+                }
+                AuditPlan plan = new AuditPlan();
+                plan.setAuditors(auditorEntity);
+                plan.setStore(storeEntity);
+                plan.setAuditStatus(AuditPlan.AuditStatus.PLANNED);
+                plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
+                plans.add(plan);
+                logger.debug("VALID ASSIGNMENT: Planned Store ID {} with Auditor ID {}.", storeId, auditorId);
+            });
+
+            Timer.Sample writeSample = metrics.start();
+            List<AuditPlan> savedAssignments = auditPlanRepository.saveAll(plans);
+            metrics.dbWrite(writeSample, "plan-insert");
+            if (!savedAssignments.isEmpty()) {
+                rebuildStandbysAfterCommit();
             }
+            metrics.recommendations(savedAssignments.size(), validator.getReceived() - savedAssignments.size());
+            logger.info("Saved {} validated assignments in one batch.", savedAssignments.size());
+            return savedAssignments;
         }
-        return savedAssignments;
     }
 
 	// This mapping method is correct.
@@ -229,51 +465,180 @@ public class AuditPlanServiceImpl implements AuditPlanService {
 	    return dto;
 	}
     
-    // This reassignment logic is now correct.
+    // Single-store reassignment is just a batch of one.
 	@Override
-	public AuditPlan reassignStore(Store storeToReassign, List<Auditors> candidateAuditors) {
-		logger.info("Attempting to reassign store ID: {}. Found {} candidate auditors.", storeToReassign.getId(), candidateAuditors.size());
-        if (candidateAuditors.isEmpty()) {
-            logger.warn("No available auditors to reassign store ID: {}. Un-assigning.", storeToReassign.getId());
-            auditPlanRepository.findByStore(storeToReassign).ifPresent(auditPlanRepository::delete);
-            return null;
-        }
+	public AuditPlan reassignStore(Store storeToReassign, int holderId, List<Auditors> candidateAuditors) {
+		List<AuditPlan> reassigned = reassignStores(List.of(storeToReassign), Set.of(holderId), candidateAuditors);
+		return reassigned.isEmpty() ? null : reassigned.get(0);
+	}
 
-        AssignmentRequestDTO requestDTO = mapSingleStoreToRequestDTO(storeToReassign, candidateAuditors);
-        AssignmentResponseDTO prediction = getAssignment(requestDTO);
-
-        if (prediction != null && prediction.getData() != null && prediction.getData().getStores() != null) {
-            List<Map<String, Object>> storeResults = (List<Map<String, Object>>) (List<?>) prediction.getData().getStores();
-            
-            if (!storeResults.isEmpty()) {
-                Map<String, Object> result = storeResults.get(0);
-                Object newAuditorIdObj = result.get("assigned_auditor_id");
-
-                if (newAuditorIdObj != null) {
-                    // --- FIX 3: Consistently use Long for all IDs ---
-                    int newAuditorId = (int) ((Number) newAuditorIdObj).longValue();
-                    Optional<Auditors> newAuditorOptional = auditorRepository.findById(newAuditorId);
-                    
-                    if (newAuditorOptional.isPresent()) {
-                        Optional<AuditPlan> existingPlanOptional = auditPlanRepository.findByStore(storeToReassign);
-                        if (existingPlanOptional.isPresent()) {
-                            AuditPlan planToUpdate = existingPlanOptional.get();
-                            planToUpdate.setAuditors(newAuditorOptional.get());
-                            logger.info("Successfully reassigned store ID: {} to new auditor ID: {}", storeToReassign.getId(), newAuditorId);
-                            return auditPlanRepository.save(planToUpdate);
-                        }
-                    }
-                }
-            }
-        }
-        
-        logger.warn("AI did not assign a new auditor for store ID: {}. Un-assigning.", storeToReassign.getId());
-        auditPlanRepository.findByStore(storeToReassign).ifPresent(auditPlanRepository::delete);
-        return null;
+	// Covers every orphaned store of one disruption, then writes all updated plans and removals together.
+	// A store whose first standby auditor (see StandbyAuditors) is still free is handed to it at once;
+	// the rest are solved in a single engine call, so no candidate is handed two stores. The engine runs
+	// before the transaction opens, so a slow solver call never holds a pooled JDBC connection.
+	// Candidates are reserved first: a concurrent disruption gets a disjoint set instead of waiting,
+	// and auditors that already hold a plan are left out. The plans themselves are locked when written,
+	// and only those still held by one of holderIds are touched.
+	@Override
+	public List<AuditPlan> reassignStores(List<Store> storesToReassign, Set<Integer> holderIds, List<Auditors> candidateAuditors) {
+		if (storesToReassign.isEmpty()) {
+			return new ArrayList<>();
+		}
+		Timer.Sample reassignmentSample = metrics.start();
+		AssignmentEngine engine = resolveEngine(null);
+		boolean capacity = engine.isCapacityAware();
+
+		// Standbys join the candidates; the auditors nearest to a store are often planned already, its standbys are not.
+		Map<Integer, List<Integer>> standbysByStoreId = new HashMap<>();
+		Map<Integer, Auditors> candidatesById = new LinkedHashMap<>();
+		candidateAuditors.forEach(auditor -> candidatesById.putIfAbsent(auditor.getId(), auditor));
+		Set<Integer> standbysToLoad = new HashSet<>();
+		for (Store store : storesToReassign) {
+			List<Integer> standbys = standbyAuditors.get(store.getId());
+			standbysByStoreId.put(store.getId(), standbys);
+			standbys.stream().filter(id -> !candidatesById.containsKey(id)).forEach(standbysToLoad::add);
+		}
+		if (!standbysToLoad.isEmpty()) {
+			auditorRepository.findAllById(standbysToLoad).stream()
+					.filter(auditor -> auditor.getAvailabilityStatus() == Auditors.AvailabilityStatus.AVAILABLE)
+					.forEach(auditor -> candidatesById.put(auditor.getId(), auditor));
+		}
+		List<Auditors> allCandidates = new ArrayList<>(candidatesById.values());
+
+		try (AuditorReservations.Reservation reservation = auditorReservations.reserve(candidatesById.keySet())) {
+			// Taken: auditors that already hold a plan, or in capacity planning those whose hours are used up.
+			Map<Integer, Long> plansByAuditorId = capacity ? countPlansByAuditor(reservation.getAuditorIds()) : Map.of();
+			Set<Integer> takenIds = capacity
+					? allCandidates.stream()
+							.filter(auditor -> reservation.holds(auditor.getId())
+									&& auditorCapacity.auditsLeft(auditor, plansByAuditorId.getOrDefault(auditor.getId(), 0L)) == 0)
+							.map(Auditors::getId).collect(Collectors.toSet())
+					: findPlannedAuditorIds(reservation.getAuditorIds());
+			List<Auditors> freeCandidates = allCandidates.stream()
+					.filter(auditor -> reservation.holds(auditor.getId()) && !takenIds.contains(auditor.getId()))
+					.collect(Collectors.toList());
+			logger.info("Attempting to reassign {} stores. Found {} candidate auditors, {} of them free ({} reserved elsewhere, {} already taken).",
+					storesToReassign.size(), allCandidates.size(), freeCandidates.size(),
+					allCandidates.size() - reservation.getAuditorIds().size(), takenIds.size());
+
+			// Stores each free candidate may take in this pass: one, or in capacity planning what its hours leave room for.
+			Map<Integer, Integer> auditsLeftByAuditorId = new HashMap<>();
+			freeCandidates.forEach(auditor -> auditsLeftByAuditorId.put(auditor.getId(),
+					capacity ? auditorCapacity.auditsLeft(auditor, plansByAuditorId.getOrDefault(auditor.getId(), 0L)) : 1));
+			Map<Integer, Integer> storesAllowed = Map.copyOf(auditsLeftByAuditorId);
+
+			List<SolverStoreResult> proposals = new ArrayList<>(storesToReassign.size());
+			List<Store> unresolvedStores = promoteStandbys(storesToReassign, standbysByStoreId, candidatesById, auditsLeftByAuditorId, proposals);
+			metrics.standbyPromoted(proposals.size());
+
+			List<Auditors> solverCandidates = freeCandidates.stream()
+					.filter(auditor -> auditsLeftByAuditorId.get(auditor.getId()) > 0)
+					.collect(Collectors.toList());
+			if (!unresolvedStores.isEmpty() && !solverCandidates.isEmpty()) {
+				AssignmentRequestDTO requestDTO = mapReassignmentToRequestDTO(unresolvedStores, solverCandidates);
+				if (capacity) {
+					// Promoted stores already count against their new auditors' hours.
+					Map<Integer, Long> plansSoFar = new HashMap<>(plansByAuditorId);
+					proposals.forEach(promotion -> plansSoFar.merge(promotion.assignedAuditorId(), 1L, Long::sum));
+					addWorkloadHours(requestDTO, solverCandidates, plansSoFar);
+				}
+				Timer.Sample solverSample = metrics.start();
+				engine.assign(requestDTO, Stream::<SolverStoreResult>builder).build().forEach(proposals::add);
+				metrics.solverCalled(solverSample, engine.getName(), "reassignment", requestDTO);
+			}
+			Timer.Sample writeSample = metrics.start();
+			List<AuditPlan> reassigned = transactionTemplate.execute(status -> applyReassignments(storesToReassign, holderIds, freeCandidates, proposals, storesAllowed));
+			metrics.dbWrite(writeSample, "reassignment");
+			metrics.reassigned(reassignmentSample, reassigned.size(), storesToReassign.size() - reassigned.size());
+
+			// The new holders no longer stand by for other stores.
+			standbyAuditors.auditorsTaken(reassigned.stream().map(plan -> plan.getAuditors().getId()).collect(Collectors.toSet()));
+			return reassigned;
+		}
+	}
+
+	// Hands each store to its first standby that is a free candidate with room left, as a proposal like the
+	// engine's; returns the stores no standby could take.
+	private List<Store> promoteStandbys(List<Store> stores, Map<Integer, List<Integer>> standbysByStoreId,
+			Map<Integer, Auditors> candidatesById, Map<Integer, Integer> auditsLeftByAuditorId, List<SolverStoreResult> promotions) {
+		List<Store> unresolved = new ArrayList<>();
+		for (Store store : stores) {
+			Integer standbyId = standbysByStoreId.get(store.getId()).stream()
+					.filter(id -> auditsLeftByAuditorId.getOrDefault(id, 0) > 0)
+					.findFirst()
+					.orElse(null);
+			if (standbyId == null) {
+				unresolved.add(store);
+				continue;
+			}
+			auditsLeftByAuditorId.merge(standbyId, -1, Integer::sum);
+			Auditors standby = candidatesById.get(standbyId);
+			double distanceKm = GeoUtils.haversineDistance(store.getLocationLat(), store.getLocationLon(), standby.getHomeLat(), standby.getHomeLon());
+			promotions.add(new SolverStoreResult(store.getId(), standbyId, Math.round(distanceKm * 100.0) / 100.0));
+			logger.info("Promoting standby auditor ID {} for store ID {}.", standbyId, store.getId());
+		}
+		return unresolved;
+	}
+
+	// auditsLeftByAuditorId: stores each candidate may take; null means one each.
+	private List<AuditPlan> applyReassignments(List<Store> storesToReassign, Set<Integer> holderIds, List<Auditors> candidateAuditors,
+			List<SolverStoreResult> proposals, Map<Integer, Integer> auditsLeftByAuditorId) {
+		List<AuditPlan> reassignedPlans = new ArrayList<>();
+		Map<Integer, AuditPlan> plansByStoreId = new HashMap<>();
+		for (AuditPlan plan : auditPlanRepository.findByStoreInOrderById(storesToReassign)) {
+			// Another pass (a later window, the bulk endpoint) may have moved the store since it was read.
+			if (holderIds.contains(plan.getAuditors().getId())) {
+				plansByStoreId.putIfAbsent(plan.getStore().getId(), plan);
+			} else {
+				logger.info("Store ID {} has moved to auditor ID {} meanwhile. Leaving its plan alone.", plan.getStore().getId(), plan.getAuditors().getId());
+			}
+		}
+
+		if (candidateAuditors.isEmpty()) {
+			logger.warn("No available auditors to reassign {} stores. Un-assigning.", storesToReassign.size());
+			plansByStoreId.values().forEach(plan -> plan.getStore().markChanged());
+			auditPlanRepository.deleteAll(plansByStoreId.values());
+			releaseStandbysAfterCommit(plansByStoreId.values());
+			return reassignedPlans;
+		}
+
+		Map<Integer, Auditors> candidatesById = candidateAuditors.stream()
+				.collect(Collectors.toMap(Auditors::getId, auditor -> auditor, (first, second) -> first));
+		Map<Integer, Integer> storesLeftByAuditorId = new HashMap<>();
+		candidatesById.keySet().forEach(auditorId -> storesLeftByAuditorId.put(auditorId,
+				auditsLeftByAuditorId == null ? 1 : auditsLeftByAuditorId.getOrDefault(auditorId, 0)));
+
+		for (SolverStoreResult result : proposals) {
+			if (result.storeId() == null || result.assignedAuditorId() == null) {
+				continue;
+			}
+			int storeId = result.storeId();
+			int newAuditorId = result.assignedAuditorId();
+
+			Auditors newAuditor = candidatesById.get(newAuditorId);
+			AuditPlan planToUpdate = plansByStoreId.get(storeId);
+			if (newAuditor == null || planToUpdate == null || storesLeftByAuditorId.merge(newAuditorId, -1, Integer::sum) < 0) {
+				logger.warn("Ignoring reassignment of store ID {} to auditor ID {}: unknown store, non-candidate or fully used auditor.", storeId, newAuditorId);
+				continue;
+			}
+			planToUpdate.setAuditors(newAuditor);
+			reassignedPlans.add(planToUpdate);
+			plansByStoreId.remove(storeId);
+			logger.info("Successfully reassigned store ID: {} to new auditor ID: {}", storeId, newAuditorId);
+		}
+
+		// Whatever is left in the map did not get a new auditor.
+		if (!plansByStoreId.isEmpty()) {
+			logger.warn("No new auditor for store IDs {}. Un-assigning.", plansByStoreId.keySet());
+			plansByStoreId.values().forEach(plan -> plan.getStore().markChanged());
+			auditPlanRepository.deleteAll(plansByStoreId.values());
+			releaseStandbysAfterCommit(plansByStoreId.values());
+		}
+		return auditPlanRepository.saveAll(reassignedPlans);
 	}
 	
-    // This helper method is now correct.
-	private AssignmentRequestDTO mapSingleStoreToRequestDTO(Store store, List<Auditors> auditors) {
+    // The stores being reassigned already had a plan, so they are open, and the candidates are available by construction.
+	private AssignmentRequestDTO mapReassignmentToRequestDTO(List<Store> stores, List<Auditors> auditors) {
         List<AuditorDTO> auditorDTOs = auditors.stream().map(auditor -> {
            AuditorDTO dto = new AuditorDTO();
            dto.setAuditorId(auditor.getId());
@@ -283,15 +648,18 @@ public class AuditPlanServiceImpl implements AuditPlanService {
 			return dto;
 		}).collect(Collectors.toList());
 		
-		StoreDTO storeDto = new StoreDTO();
-		storeDto.setStoreId(store.getId());
-		storeDto.setLatitude(store.getLocationLat());
-		storeDto.setLongitude(store.getLocationLon());
-		storeDto.setStoreStatus("Open");
+		List<StoreDTO> storeDtos = stores.stream().map(store -> {
+			StoreDTO storeDto = new StoreDTO();
+			storeDto.setStoreId(store.getId());
+			storeDto.setLatitude(store.getLocationLat());
+			storeDto.setLongitude(store.getLocationLon());
+			storeDto.setStoreStatus("Open");
+			return storeDto;
+		}).collect(Collectors.toList());
 
 		AssignmentRequestDTO requestDTO = new AssignmentRequestDTO();
 		requestDTO.setAuditors(auditorDTOs);
-		requestDTO.setStores(List.of(storeDto));
+		requestDTO.setStores(storeDtos);
 		return requestDTO;
    }
     
@@ -300,30 +668,20 @@ public class AuditPlanServiceImpl implements AuditPlanService {
 	@Override
 	public List<AuditPlanResponseDTO> findAllAuditPlans() {
         logger.info("Fetching all audit plans from the database.");
-        List<AuditPlan> plansFromDb = auditPlanRepository.findAll();
-        return plansFromDb.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return auditPlanRepository.findAllResponses();
 	}
-    
-    // The haversineDistance method is no longer used by the main flow and can be removed
-    // if you are only using the AI-based approach. I've left it here in case you need it.
-    private double haversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 6371; // Earth radius in kilometers
-        double latDistance = Math.toRadians(lat2 - lat1);
-        double lonDistance = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-
-	
 	
-	
-
+	// Streams every plan as NDJSON straight from a database cursor.
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAuditPlans(OutputStream out) throws IOException {
+		long count = ndjsonWriter.write(auditPlanRepository.streamAllResponses(), out, false);
+		logger.info("Exported {} audit plans as NDJSON.", count);
+		return count;
+	}
+    
 	@Override
+	@Transactional
 	public AuditPlanResponseDTO updateAuditPlanStatus(int auditPlanId, AuditPlanDTO updateDTO) {
 	    AuditPlan existingPlan = auditPlanRepository.findById(auditPlanId)
 	            .orElseThrow(() -> new RuntimeException("AuditPlan not found with ID: " + auditPlanId));
@@ -351,4 +709,4 @@ public class AuditPlanServiceImpl implements AuditPlanService {
 	
 
 	
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AuditorDTO;
+import com.application.entities.Auditors;
+
+/**
+ * Workload arithmetic for capacity planning. An auditor's booked hours are current_assigned_hours
+ * (work booked outside the planner) plus "plan.capacity.hours-per-audit" for every audit plan it
+ * holds; it can take another store while its workload_capacity_hours leave room for one more audit.
+ */
+@Component
+public class AuditorCapacity {
+
+	private final double hoursPerAudit;
+
+	public AuditorCapacity(@Value("${plan.capacity.hours-per-audit:4}") double hoursPerAudit) {
+		if (hoursPerAudit <= 0) {
+			throw new IllegalArgumentException("plan.capacity.hours-per-audit must be positive: " + hoursPerAudit);
+		}
+		this.hoursPerAudit = hoursPerAudit;
+	}
+
+	public double getHoursPerAudit() {
+		return hoursPerAudit;
+	}
+
+	public double bookedHours(Auditors auditor, long plansHeld) {
+		return auditor.getCurrentAssignedHours() + plansHeld * hoursPerAudit;
+	}
+
+	// How many more audits fit into the auditor's capacity.
+	public int auditsLeft(Auditors auditor, long plansHeld) {
+		return auditsLeft(auditor.getWorkLoadCapacityHours(), bookedHours(auditor, plansHeld));
+	}
+
+	// A request built without hours leaves room for exactly one audit, as in one-store planning.
+	public int auditsLeft(AuditorDTO auditor) {
+		if (auditor.getWorkloadCapacityHours() == null || auditor.getCurrentAssignedHours() == null) {
+			return 1;
+		}
+		return auditsLeft(auditor.getWorkloadCapacityHours(), auditor.getCurrentAssignedHours());
+	}
+
+	private int auditsLeft(double capacityHours, double bookedHours) {
+		// The epsilon keeps 40 - 36 = 3.9999... from losing a whole audit.
+		return (int) Math.max(0, Math.floor((capacityHours - bookedHours) / hoursPerAudit + 1e-9));
+	}
+
+}
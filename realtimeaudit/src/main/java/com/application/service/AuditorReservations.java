@@ -0,0 +1,81 @@
+package com.application.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory claim table that keeps concurrent reassignments and plan runs from handing the same
+ * auditor a store each. Claiming an auditor is a single compare-and-set on its id
+ * (ConcurrentHashMap.putIfAbsent), so passes never wait for one another: an auditor held by another
+ * pass is simply not a candidate in this one. A claim lasts from candidate selection until the
+ * caller's plans are committed; from then on the plan itself, visible in the database, keeps the
+ * auditor out of later passes, or in capacity planning counts against its hours.
+ */
+@Component
+public class AuditorReservations {
+
+	private final ConcurrentMap<Integer, Reservation> claims = new ConcurrentHashMap<>();
+
+	// Claims whichever of the auditors are not held by another pass; the rest are skipped, not waited for.
+	public Reservation reserve(Collection<Integer> auditorIds) {
+		Reservation reservation = new Reservation();
+		for (Integer auditorId : auditorIds) {
+			if (claims.putIfAbsent(auditorId, reservation) == null) {
+				reservation.auditorIds.add(auditorId);
+			}
+		}
+		return reservation;
+	}
+
+	public int getReservedCount() {
+		return claims.size();
+	}
+
+	/**
+	 * The auditors one pass holds. Owned by the thread that reserved it; closing it releases the
+	 * claims at once, or when the surrounding transaction completes if there is one.
+	 */
+	public final class Reservation implements AutoCloseable {
+
+		private final Set<Integer> auditorIds = new LinkedHashSet<>();
+
+		private Reservation() {
+		}
+
+		public Set<Integer> getAuditorIds() {
+			return Collections.unmodifiableSet(auditorIds);
+		}
+
+		public boolean holds(int auditorId) {
+			return auditorIds.contains(auditorId);
+		}
+
+		@Override
+		public void close() {
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+				TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+					@Override
+					public void afterCompletion(int status) {
+						release();
+					}
+				});
+			} else {
+				release();
+			}
+		}
+
+		private void release() {
+			auditorIds.forEach(auditorId -> claims.remove(auditorId, this));
+			auditorIds.clear();
+		}
+	}
+
+}
@@ -1,8 +1,12 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
+import com.application.DTO.AuditorStatusUpdateDTO;
+import com.application.DTO.BulkStatusUpdateResultDTO;
 import com.application.entities.Auditors;
 import com.application.entities.Auditors.AvailabilityStatus;
 
@@ -13,5 +17,7 @@ public interface AuditorService {
 	List<Auditors> findAvailableAuditors();
 	Optional<Auditors> findByAuditorsId(int id);
 	Auditors updateAvailabilityStatus(int id, AvailabilityStatus newStatus);
+	BulkStatusUpdateResultDTO updateAvailabilityStatuses(List<AuditorStatusUpdateDTO> updates);
+	long exportAuditors(OutputStream out) throws IOException;
 	
 }
@@ -1,18 +1,40 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.application.DTO.AuditorStatusUpdateDTO;
+import com.application.DTO.BulkStatusUpdateResultDTO;
 import com.application.entities.AuditPlan;
 import com.application.entities.Auditors;
 import com.application.entities.Auditors.AvailabilityStatus;
+import com.application.entities.Store;
 import com.application.repository.AuditPlanRepository;
 import com.application.repository.AuditorRepository;
 
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class AuditorServiceImpl implements AuditorService {
 
@@ -24,11 +46,48 @@ public class AuditorServiceImpl implements AuditorService {
 	
 	private final AuditPlanService auditPlanService;
 	
+	private final AuditorSpatialIndex auditorSpatialIndex;
+	
+	private final NdjsonWriter ndjsonWriter;
+	
+	private final SnapshotCache snapshotCache;
+	
+	private final DistanceMatrix distanceMatrix;
+	
+	private final StatusChangePipeline statusChangePipeline;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final AssignmentMetrics metrics;
+	
+	private final StandbyAuditors standbyAuditors;
+	
+	private static final int BULK_ID_CHUNK_SIZE = 1000;
+	
+	// Auditors whose status a bulk update changed, and the plans it left without an auditor.
+	private record BulkUpdate(List<Auditors> changedAuditors, List<AuditPlan> orphanedPlans) {
+	}
+	
+	// How many nearest available auditors are offered to the solver for each orphaned store.
+	@Value("${reassignment.candidate-count:10}")
+	private int candidateCount;
+	
 	@Autowired
-	public AuditorServiceImpl(AuditorRepository auditorRepository, AuditPlanRepository auditPlanRepository, AuditPlanService auditPlanService) {
+	public AuditorServiceImpl(AuditorRepository auditorRepository, AuditPlanRepository auditPlanRepository, AuditPlanService auditPlanService,
+			AuditorSpatialIndex auditorSpatialIndex, NdjsonWriter ndjsonWriter, SnapshotCache snapshotCache,
+			DistanceMatrix distanceMatrix, StatusChangePipeline statusChangePipeline, TransactionTemplate transactionTemplate,
+			AssignmentMetrics metrics, StandbyAuditors standbyAuditors) {
 		this.auditorRepository = auditorRepository;
 		this.auditPlanRepository = auditPlanRepository;
 		this.auditPlanService = auditPlanService;
+		this.auditorSpatialIndex = auditorSpatialIndex;
+		this.ndjsonWriter = ndjsonWriter;
+		this.snapshotCache = snapshotCache;
+		this.distanceMatrix = distanceMatrix;
+		this.statusChangePipeline = statusChangePipeline;
+		this.transactionTemplate = transactionTemplate;
+		this.metrics = metrics;
+		this.standbyAuditors = standbyAuditors;
 	}
 
 	@Override
@@ -43,7 +102,12 @@ public class AuditorServiceImpl implements AuditorService {
 			
 		}
 		
-		return auditorRepository.save(auditors);
+		Auditors savedAuditor = auditorRepository.save(auditors);
+		auditorSpatialIndex.update(savedAuditor);
+		distanceMatrix.updateAuditor(savedAuditor);
+		snapshotCache.evictAvailableAuditors();
+		standbyAuditors.auditorsAvailable(List.of(savedAuditor));
+		return savedAuditor;
 	}
 
 	@Override
@@ -51,9 +115,18 @@ public class AuditorServiceImpl implements AuditorService {
 		return auditorRepository.findAll();
 	}
 
+	// Served from the availableAuditors cache until an auditor is saved or changes availability.
 	@Override
+	@Cacheable(SnapshotCache.AVAILABLE_AUDITORS)
 	public List<Auditors> findAvailableAuditors() {		
-		return auditorRepository.findByAvailabilityStatus(AvailabilityStatus.AVAILABLE);
+		return List.copyOf(auditorRepository.findByAvailabilityStatus(AvailabilityStatus.AVAILABLE));
+	}
+
+	// Streams every auditor as NDJSON straight from a database cursor.
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAuditors(OutputStream out) throws IOException {
+		return ndjsonWriter.write(auditorRepository.streamAll(), out, true);
 	}
 
 	@Override
@@ -62,9 +135,13 @@ public class AuditorServiceImpl implements AuditorService {
 	}
 
 	
+	// Persists the new status right away; any reassignment runs later on the status-change consumer,
+	// once per net change (see onAuditorStatusChanges).
 	@Override
+	@Transactional
 	public Auditors updateAvailabilityStatus(int id, AvailabilityStatus newStatus) {
 		logger.info("Attempting to update status for auditor ID: {} to {}", id, newStatus);
+		Timer.Sample sample = metrics.start();
 	    
 	    // 1. Fetch the auditor from the database. This is the object we will work with.
 	    Auditors auditorToUpdate = auditorRepository.findById(id)
@@ -72,8 +149,6 @@ public class AuditorServiceImpl implements AuditorService {
 
 	    // 2. Get the status BEFORE making any changes. This is crucial for our trigger condition.
 	    Auditors.AvailabilityStatus oldStatus = auditorToUpdate.getAvailabilityStatus();
-	    
-	    logger.info("CHECKPOINT 1: Checking reassignment condition. Old Status = {}, New Status = {}", oldStatus, newStatus);
 
 	    // 3. Set the new status on the entity object.
 	    auditorToUpdate.setAvailabilityStatus(newStatus);
@@ -81,39 +156,170 @@ public class AuditorServiceImpl implements AuditorService {
 	    // 4. Save the updated entity. The 'save' method returns the persisted entity, which we store in a new variable.
 	    Auditors savedAuditor = auditorRepository.save(auditorToUpdate);
 
-	    // --- TRIGGER REASSIGNMENT LOGIC ---
-	    // The main gatekeeper condition.
-	    if (oldStatus == Auditors.AvailabilityStatus.AVAILABLE && newStatus != Auditors.AvailabilityStatus.AVAILABLE) {
-	        
-	        logger.info("CHECKPOINT 2: Condition MET. Auditor status changed from AVAILABLE. Triggering reassignment process.");
-
-	        // Find all assignments using the SAVED auditor entity.
-	        List<AuditPlan> affectedAssignments = auditPlanRepository.findByAuditors(savedAuditor);
-	        logger.info("CHECKPOINT 3: Found {} affected assignments for this auditor.", affectedAssignments.size());
-
-	        if (!affectedAssignments.isEmpty()) {
-	            // Find all other auditors who are available to take over the work.
-	            List<Auditors> candidateAuditors = auditorRepository.findByIdNotAndAvailabilityStatus(id, Auditors.AvailabilityStatus.AVAILABLE);
-	            logger.info("CHECKPOINT 4: Found {} available replacement candidates.", candidateAuditors.size());
-	            
-	            int reassignmentCounter = 0;
-	            for (AuditPlan assignment : affectedAssignments) {
-	                reassignmentCounter++;
-	                logger.info("--> Processing reassignment {} of {}: Store ID {}", reassignmentCounter, affectedAssignments.size(), assignment.getStore().getId());
-	                
-	                // Call the service that handles the Python API communication.
-	                auditPlanService.reassignStore(assignment.getStore(), candidateAuditors);
-	            }
-	            logger.info("CHECKPOINT 5: Reassignment loop finished.");
-
+	    // 5. Queue the change before anything else sees it: a full pipeline throws and the save rolls back.
+	    //    A burst of flips for this auditor is folded into one net change.
+	    statusChangePipeline.publish(new AuditorStatusChange(id, oldStatus, newStatus, Instant.now()));
+	    auditorSpatialIndex.update(savedAuditor);
+	    distanceMatrix.updateAuditor(savedAuditor);
+	    if (oldStatus != newStatus) {
+	        snapshotCache.evictAvailableAuditors();
+	        // Standby lists follow at once; the auditor's own stores wait for the coalescing window.
+	        if (newStatus == Auditors.AvailabilityStatus.AVAILABLE) {
+	            standbyAuditors.auditorsAvailable(List.of(savedAuditor));
 	        } else {
-	             logger.warn("No active assignments found for auditor ID: {}. Nothing to reassign.", id);
+	            standbyAuditors.auditorsTaken(List.of(id));
 	        }
-	    } else {
-	        logger.warn("CHECKPOINT 2: Condition NOT MET. No reassignment will be triggered.");
 	    }
-
-	    // 5. Return the final, saved state of the auditor.
+	    metrics.statusUpdated(sample, "auditor", newStatus);
 	    return savedAuditor;
 	}
+
+	// Net availability changes of one coalescing window of the StatusChangePipeline. The stores of every
+	// auditor that left AVAILABLE in the window share one candidate pool and one reassignment pass.
+	@EventListener
+	public void onAuditorStatusChanges(AuditorStatusChanges changes) {
+	    Map<Integer, AuditorStatusChange> disruptions = new LinkedHashMap<>();
+	    for (AuditorStatusChange change : changes.changes()) {
+	        if (change.from() == AvailabilityStatus.AVAILABLE && change.to() != AvailabilityStatus.AVAILABLE) {
+	            disruptions.put(change.auditorId(), change);
+	        }
+	    }
+	    if (disruptions.isEmpty()) {
+	        logger.info("{} auditor status changes, none of them left AVAILABLE. No reassignment will be triggered.", changes.changes().size());
+	        return;
+	    }
+
+	    // An auditor may have been changed again after the window closed; the database has the last word.
+	    List<Integer> disruptedIds = auditorRepository.findAllById(disruptions.keySet()).stream()
+	            .filter(auditor -> auditor.getAvailabilityStatus() != AvailabilityStatus.AVAILABLE)
+	            .map(Auditors::getId)
+	            .collect(Collectors.toList());
+	    if (disruptedIds.size() < disruptions.size()) {
+	        logger.info("{} of {} disrupted auditors are available again or gone.", disruptions.size() - disruptedIds.size(), disruptions.size());
+	    }
+
+	    List<AuditPlan> orphanedPlans = findPlansOf(disruptedIds);
+	    if (orphanedPlans.isEmpty()) {
+	        logger.info("No active assignments found for {} disrupted auditors. Nothing to reassign.", disruptedIds.size());
+	        return;
+	    }
+	    List<AuditPlan> reassigned = reassignOrphanedPlans(orphanedPlans, Set.copyOf(disruptedIds));
+	    logger.info("Reassigned {} of {} stores of {} disrupted auditors in one pass.", reassigned.size(), orphanedPlans.size(), disruptedIds.size());
+	    orphanedPlans.stream()
+	            .map(plan -> plan.getAuditors().getId())
+	            .distinct()
+	            .forEach(auditorId -> metrics.disruptionCovered(disruptions.get(auditorId).changedAt(), "single"));
+	}
+
+	/**
+	 * Applies a whole shift change at once: one transaction with one UPDATE ... WHERE id IN per target
+	 * status, then a single reassignment pass for every plan whose auditor stopped being AVAILABLE,
+	 * against the availability after the update. Later entries for the same auditor win.
+	 */
+	@Override
+	public BulkStatusUpdateResultDTO updateAvailabilityStatuses(List<AuditorStatusUpdateDTO> updates) {
+		Instant receivedAt = Instant.now();
+		Map<Integer, AvailabilityStatus> requested = new LinkedHashMap<>();
+		for (AuditorStatusUpdateDTO update : updates) {
+			if (update.getStatus() == null) {
+				throw new IllegalArgumentException("Missing status for auditor ID: " + update.getId());
+			}
+			requested.put(update.getId(), update.getStatus());
+		}
+		BulkStatusUpdateResultDTO result = new BulkStatusUpdateResultDTO();
+		result.setRequested(updates.size());
+
+		BulkUpdate bulkUpdate = transactionTemplate.execute(status -> applyAvailabilityStatuses(requested, result));
+
+		// Committed: the index, the matrix and the cache now see the new availability.
+		bulkUpdate.changedAuditors().forEach(auditor -> {
+			auditorSpatialIndex.update(auditor);
+			distanceMatrix.updateAuditor(auditor);
+		});
+		if (!bulkUpdate.changedAuditors().isEmpty()) {
+			snapshotCache.evictAvailableAuditors();
+			Map<Boolean, List<Auditors>> byAvailability = bulkUpdate.changedAuditors().stream()
+					.collect(Collectors.partitioningBy(auditor -> auditor.getAvailabilityStatus() == AvailabilityStatus.AVAILABLE));
+			standbyAuditors.auditorsAvailable(byAvailability.get(true));
+			standbyAuditors.auditorsTaken(byAvailability.get(false).stream().map(Auditors::getId).collect(Collectors.toList()));
+		}
+		logger.info("Bulk status update: {} requested, {} changed, {} unknown, {} plans orphaned.", result.getRequested(),
+				result.getUpdated(), result.getNotFound().size(), bulkUpdate.orphanedPlans().size());
+
+		List<AuditPlan> orphanedPlans = bulkUpdate.orphanedPlans();
+		result.setOrphanedPlans(orphanedPlans.size());
+		if (orphanedPlans.isEmpty()) {
+			return result;
+		}
+		// One candidate pool and one solver pass for every orphaned store of the whole batch.
+		List<AuditPlan> reassigned = reassignOrphanedPlans(orphanedPlans, Set.of());
+		result.setReassigned(reassigned.size());
+		result.setUnassigned(orphanedPlans.size() - reassigned.size());
+		logger.info("Bulk status update reassigned {} of {} orphaned stores in one pass.", reassigned.size(), orphanedPlans.size());
+		metrics.disruptionCovered(receivedAt, "bulk");
+		return result;
+	}
+
+	private BulkUpdate applyAvailabilityStatuses(Map<Integer, AvailabilityStatus> requested, BulkStatusUpdateResultDTO result) {
+		Map<Integer, Auditors> auditorsById = auditorRepository.findAllById(requested.keySet()).stream()
+				.collect(Collectors.toMap(Auditors::getId, Function.identity()));
+
+		Map<AvailabilityStatus, List<Integer>> idsByStatus = new EnumMap<>(AvailabilityStatus.class);
+		List<Integer> disruptedIds = new ArrayList<>();
+		List<Auditors> changedAuditors = new ArrayList<>();
+		requested.forEach((id, newStatus) -> {
+			Auditors auditor = auditorsById.get(id);
+			if (auditor == null) {
+				result.getNotFound().add(id);
+				return;
+			}
+			if (auditor.getAvailabilityStatus() == newStatus) {
+				return;
+			}
+			if (auditor.getAvailabilityStatus() == AvailabilityStatus.AVAILABLE) {
+				disruptedIds.add(id);
+			}
+			idsByStatus.computeIfAbsent(newStatus, status -> new ArrayList<>()).add(id);
+			changedAuditors.add(auditor);
+		});
+
+		// The bulk UPDATEs clear the persistence context, so the loaded auditors are detached from here on.
+		Instant now = Instant.now();
+		idsByStatus.forEach((status, ids) -> {
+			for (int from = 0; from < ids.size(); from += BULK_ID_CHUNK_SIZE) {
+				auditorRepository.updateAvailabilityStatus(ids.subList(from, Math.min(ids.size(), from + BULK_ID_CHUNK_SIZE)), status, now);
+			}
+		});
+		changedAuditors.forEach(auditor -> {
+			auditor.setAvailabilityStatus(requested.get(auditor.getId()));
+			auditor.setUpdatedAt(now);
+		});
+		result.setUpdated(changedAuditors.size());
+
+		return new BulkUpdate(changedAuditors, findPlansOf(disruptedIds));
+	}
+
+	// Plans of the given auditors, with their stores, in chunks of BULK_ID_CHUNK_SIZE ids.
+	private List<AuditPlan> findPlansOf(List<Integer> auditorIds) {
+		List<AuditPlan> plans = new ArrayList<>();
+		for (int from = 0; from < auditorIds.size(); from += BULK_ID_CHUNK_SIZE) {
+			plans.addAll(auditPlanRepository.findByAuditorsIdIn(auditorIds.subList(from, Math.min(auditorIds.size(), from + BULK_ID_CHUNK_SIZE))));
+		}
+		return plans;
+	}
+
+	// Only the nearest available auditors to each orphaned store are worth sending to the solver; their
+	// union is the candidate pool of one reassignment pass for all of the stores.
+	private List<AuditPlan> reassignOrphanedPlans(List<AuditPlan> orphanedPlans, Set<Integer> excludedIds) {
+		List<Store> orphanedStores = new ArrayList<>(orphanedPlans.size());
+		Set<Integer> candidateIds = new LinkedHashSet<>();
+		for (AuditPlan plan : orphanedPlans) {
+			Store store = plan.getStore();
+			orphanedStores.add(store);
+			candidateIds.addAll(auditorSpatialIndex.findNearest(store.getLocationLat(), store.getLocationLon(), candidateCount, excludedIds));
+		}
+		List<Auditors> candidateAuditors = auditorRepository.findAllById(candidateIds);
+		Set<Integer> holderIds = orphanedPlans.stream().map(plan -> plan.getAuditors().getId()).collect(Collectors.toSet());
+		return auditPlanService.reassignStores(orphanedStores, holderIds, candidateAuditors);
+	}
 }
@@ -0,0 +1,219 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.application.entities.Auditors;
+import com.application.repository.AuditorRepository;
+
+/**
+ * In-memory lat/lon grid over the home location of every AVAILABLE auditor.
+ * Lookups walk outwards ring by ring from the query cell and stop as soon as no
+ * unvisited cell can contain anything closer than the k-th best match, so a
+ * nearest-candidate query only touches the neighbourhood of the store.
+ */
+@Component
+public class AuditorSpatialIndex {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditorSpatialIndex.class);
+
+	private final AuditorRepository auditorRepository;
+
+	private final double cellDegrees;
+	private final int rowCount;
+	private final int colCount;
+
+	private final Map<Long, Map<Integer, Entry>> cells = new HashMap<>();
+	private final Map<Integer, Entry> entries = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private record Entry(int auditorId, double lat, double lon, long cell) {
+	}
+
+	public record Candidate(int auditorId, double distanceKm) {
+	}
+
+	public AuditorSpatialIndex(AuditorRepository auditorRepository,
+			@Value("${auditor.index.cell-degrees:0.5}") double cellDegrees) {
+		this.auditorRepository = auditorRepository;
+		this.cellDegrees = cellDegrees;
+		this.rowCount = (int) Math.ceil(180.0 / cellDegrees) + 1;
+		this.colCount = (int) Math.ceil(360.0 / cellDegrees);
+	}
+
+	// First on startup: StandbyAuditors ranks from the index on the same event.
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void rebuild() {
+		List<Auditors> available = auditorRepository.findByAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		lock.writeLock().lock();
+		try {
+			cells.clear();
+			entries.clear();
+			available.forEach(this::put);
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Auditor spatial index built with {} available auditors.", available.size());
+	}
+
+	// Adds, moves or drops the auditor depending on its current location and availability.
+	public void update(Auditors auditor) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(auditor.getId());
+			if (auditor.getAvailabilityStatus() == Auditors.AvailabilityStatus.AVAILABLE) {
+				put(auditor);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int auditorId) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(auditorId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of the (at most) k available auditors closest to the given point, nearest first.
+	 */
+	public List<Integer> findNearest(double lat, double lon, int k, Collection<Integer> excludedIds) {
+		List<Integer> result = new ArrayList<>();
+		findNearestCandidates(lat, lon, k, excludedIds).forEach(candidate -> result.add(candidate.auditorId()));
+		return result;
+	}
+
+	// Same as findNearest, with the distance of every auditor.
+	public List<Candidate> findNearestCandidates(double lat, double lon, int k, Collection<Integer> excludedIds) {
+		if (k <= 0) {
+			return new ArrayList<>();
+		}
+		lock.readLock().lock();
+		try {
+			// Max-heap on distance holding the best k seen so far.
+			PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1,
+					(a, b) -> Double.compare(b.distanceKm(), a.distanceKm()));
+			int row0 = row(lat);
+			int col0 = col(lon);
+			Set<Long> visited = new HashSet<>();
+			int scanned = 0;
+			int maxRing = Math.max(rowCount, colCount);
+
+			for (int ring = 0; ring <= maxRing && scanned < entries.size(); ring++) {
+				for (int row = Math.max(0, row0 - ring); row <= Math.min(rowCount - 1, row0 + ring); row++) {
+					boolean edgeRow = row == row0 - ring || row == row0 + ring;
+					int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+					for (int dc = -ring; dc <= ring; dc += step) {
+						long key = cellKey(row, Math.floorMod(col0 + dc, colCount));
+						if (!visited.add(key)) {
+							continue;
+						}
+						Map<Integer, Entry> cell = cells.get(key);
+						if (cell == null) {
+							continue;
+						}
+						for (Entry entry : cell.values()) {
+							scanned++;
+							if (excludedIds != null && excludedIds.contains(entry.auditorId())) {
+								continue;
+							}
+							double d = GeoUtils.haversineDistance(lat, lon, entry.lat(), entry.lon());
+							if (best.size() < k) {
+								best.add(new Candidate(entry.auditorId(), d));
+							} else if (d < best.peek().distanceKm()) {
+								best.poll();
+								best.add(new Candidate(entry.auditorId(), d));
+							}
+						}
+					}
+				}
+				if (best.size() == k && best.peek().distanceKm() <= lowerBoundBeyondRing(lat, ring)) {
+					break;
+				}
+			}
+
+			List<Candidate> ordered = new ArrayList<>(best);
+			ordered.sort((a, b) -> Double.compare(a.distanceKm(), b.distanceKm()));
+			return ordered;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Smallest distance a point outside rings 0..ring can have from the query point.
+	private double lowerBoundBeyondRing(double lat, int ring) {
+		double gapDegrees = ring * cellDegrees;
+		if (gapDegrees <= 0) {
+			return 0;
+		}
+		double latBoundKm = Math.toRadians(gapDegrees) * GeoUtils.EARTH_RADIUS_KM;
+		double maxAbsLat = Math.min(90.0, Math.abs(lat) + gapDegrees + cellDegrees);
+		double lonBoundKm = 2 * GeoUtils.EARTH_RADIUS_KM
+				* Math.asin(Math.min(1.0, Math.cos(Math.toRadians(maxAbsLat)) * Math.sin(Math.toRadians(Math.min(gapDegrees, 180.0)) / 2)));
+		return Math.min(latBoundKm, lonBoundKm);
+	}
+
+	private void put(Auditors auditor) {
+		long key = cellKey(row(auditor.getHomeLat()), col(auditor.getHomeLon()));
+		Entry entry = new Entry(auditor.getId(), auditor.getHomeLat(), auditor.getHomeLon(), key);
+		entries.put(auditor.getId(), entry);
+		cells.computeIfAbsent(key, ignored -> new HashMap<>()).put(auditor.getId(), entry);
+	}
+
+	private void removeEntry(int auditorId) {
+		Entry previous = entries.remove(auditorId);
+		if (previous != null) {
+			Map<Integer, Entry> cell = cells.get(previous.cell());
+			if (cell != null) {
+				cell.remove(auditorId);
+				if (cell.isEmpty()) {
+					cells.remove(previous.cell());
+				}
+			}
+		}
+	}
+
+	private int row(double lat) {
+		return Math.min(rowCount - 1, Math.max(0, (int) Math.floor((lat + 90.0) / cellDegrees)));
+	}
+
+	private int col(double lon) {
+		return Math.floorMod((int) Math.floor((lon + 180.0) / cellDegrees), colCount);
+	}
+
+	private long cellKey(int row, int col) {
+		return (long) row * colCount + col;
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.application.service;
+
+import java.time.Instant;
+
+import com.application.entities.Auditors.AvailabilityStatus;
+
+// changedAt is when the first of the folded changes was saved; disruption latency is measured from it.
+public record AuditorStatusChange(int auditorId, AvailabilityStatus from, AvailabilityStatus to, Instant changedAt) implements StatusChange {
+
+	@Override
+	public String key() {
+		return "auditor:" + auditorId;
+	}
+
+	@Override
+	public StatusChange followedBy(StatusChange later) {
+		return new AuditorStatusChange(auditorId, from, ((AuditorStatusChange) later).to(), changedAt);
+	}
+
+	@Override
+	public boolean isNetChange() {
+		return from != to;
+	}
+
+}
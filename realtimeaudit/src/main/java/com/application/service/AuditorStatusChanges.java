@@ -0,0 +1,7 @@
+package com.application.service;
+
+import java.util.List;
+
+// The net auditor changes of one coalescing window, published together so their reassignment shares one pass.
+public record AuditorStatusChanges(List<AuditorStatusChange> changes) {
+}
@@ -0,0 +1,13 @@
+package com.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.application.DTO.ImportReportDTO;
+
+public interface BulkImportService {
+
+	ImportReportDTO importStores(InputStream body, boolean csv) throws IOException;
+	ImportReportDTO importAuditors(InputStream body, boolean csv) throws IOException;
+
+}
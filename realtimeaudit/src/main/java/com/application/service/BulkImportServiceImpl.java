@@ -0,0 +1,382 @@
+package com.application.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.application.DTO.ImportReportDTO;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Loads stores and auditors from CSV (header row required) or NDJSON request bodies with
+ * PostgreSQL's COPY protocol. Rows are read, validated and written to the COPY stream one at a
+ * time, so the body is never held in memory; invalid rows are skipped and reported with their
+ * line number. Field names are the entity's JSON property names (e.g. locationLat, storeStatus).
+ * Everything that passes validation is loaded in one transaction, after which the in-memory
+ * auditor index, distance matrix and snapshot caches are rebuilt.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkImportServiceImpl.class);
+
+	private static final int MAX_REPORTED_ERRORS = 100;
+
+	private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+	private static final String STORE_COPY = "COPY store (name, address, location_lat, location_lon, store_status, updated_at) "
+			+ "FROM STDIN WITH (FORMAT csv)";
+
+	private static final String AUDITOR_COPY = "COPY auditors (name, home_lat, home_lon, workload_capacity_hours, "
+			+ "current_assigned_hours, availability_status, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+	private final DataSource dataSource;
+
+	private final ObjectMapper objectMapper;
+
+	private final CsvMapper csvMapper = new CsvMapper();
+
+	private final AuditorSpatialIndex auditorSpatialIndex;
+
+	private final DistanceMatrix distanceMatrix;
+
+	private final SnapshotCache snapshotCache;
+
+	private final StandbyAuditors standbyAuditors;
+
+	// One input row, by field name; null when the field is absent or empty.
+	private interface Row {
+		String field(String name);
+	}
+
+	// Turns a valid row into one line of COPY csv, or throws IllegalArgumentException naming the bad field.
+	private interface RowConverter {
+		void append(Row row, String updatedAt, StringBuilder copyLine);
+	}
+
+	public BulkImportServiceImpl(DataSource dataSource, ObjectMapper objectMapper, AuditorSpatialIndex auditorSpatialIndex,
+			DistanceMatrix distanceMatrix, SnapshotCache snapshotCache, StandbyAuditors standbyAuditors) {
+		this.dataSource = dataSource;
+		this.objectMapper = objectMapper;
+		this.auditorSpatialIndex = auditorSpatialIndex;
+		this.distanceMatrix = distanceMatrix;
+		this.snapshotCache = snapshotCache;
+		this.standbyAuditors = standbyAuditors;
+		this.csvMapper.enable(CsvParser.Feature.TRIM_SPACES);
+		this.csvMapper.enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE);
+		this.csvMapper.enable(CsvParser.Feature.SKIP_EMPTY_LINES);
+	}
+
+	@Override
+	@Transactional
+	public ImportReportDTO importStores(InputStream body, boolean csv) throws IOException {
+		ImportReportDTO report = load("store", STORE_COPY, body, csv, (row, updatedAt, line) -> {
+			appendText(line, requiredText(row, "name"));
+			appendText(line, optionalText(row, "address"));
+			appendNumber(line, coordinate(row, "locationLat", 90));
+			appendNumber(line, coordinate(row, "locationLon", 180));
+			appendText(line, status(row, "storeStatus", Store.StoreStatus.class, Store.StoreStatus.OPEN).name());
+			appendLast(line, updatedAt);
+		});
+		if (report.getImported() > 0) {
+			snapshotCache.evictOpenStores();
+			afterCommit(distanceMatrix::rebuild);
+		}
+		return report;
+	}
+
+	@Override
+	@Transactional
+	public ImportReportDTO importAuditors(InputStream body, boolean csv) throws IOException {
+		ImportReportDTO report = load("auditor", AUDITOR_COPY, body, csv, (row, updatedAt, line) -> {
+			appendText(line, requiredText(row, "name"));
+			appendNumber(line, coordinate(row, "homeLat", 90));
+			appendNumber(line, coordinate(row, "homeLon", 180));
+			appendNumber(line, hours(row, "workLoadCapacityHours"));
+			appendNumber(line, hours(row, "currentAssignedHours"));
+			appendText(line, status(row, "availabilityStatus", Auditors.AvailabilityStatus.class, Auditors.AvailabilityStatus.AVAILABLE).name());
+			appendLast(line, updatedAt);
+		});
+		if (report.getImported() > 0) {
+			snapshotCache.evictAvailableAuditors();
+			afterCommit(() -> {
+				auditorSpatialIndex.rebuild();
+				distanceMatrix.rebuild();
+				standbyAuditors.rebuildLater();
+			});
+		}
+		return report;
+	}
+
+	private ImportReportDTO load(String entity, String copySql, InputStream body, boolean csv, RowConverter converter) throws IOException {
+		long start = System.nanoTime();
+		ImportReportDTO report = new ImportReportDTO();
+		report.setEntity(entity);
+		// Imported rows count as changed for incremental planning.
+		String updatedAt = Instant.now().toString();
+
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		CopyIn copyIn = null;
+		try {
+			copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+			CopyWriter writer = new CopyWriter(copyIn);
+			if (csv) {
+				readCsv(body, converter, updatedAt, writer, report);
+			} else {
+				readNdjson(body, converter, updatedAt, writer, report);
+			}
+			writer.flush();
+			report.setImported(copyIn.endCopy());
+		} catch (SQLException e) {
+			throw new IllegalStateException("COPY of " + entity + " rows failed: " + e.getMessage(), e);
+		} finally {
+			cancelQuietly(copyIn);
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+
+		report.setElapsedMs((System.nanoTime() - start) / 1_000_000);
+		logger.info("Imported {} {} rows ({} received, {} rejected) in {} ms.", report.getImported(), entity,
+				report.getReceived(), report.getRejected(), report.getElapsedMs());
+		return report;
+	}
+
+	private void readNdjson(InputStream body, RowConverter converter, String updatedAt, CopyWriter writer, ImportReportDTO report)
+			throws IOException, SQLException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+		String text;
+		long lineNumber = 0;
+		while ((text = reader.readLine()) != null) {
+			lineNumber++;
+			if (text.isBlank()) {
+				continue;
+			}
+			report.setReceived(report.getReceived() + 1);
+			JsonNode node;
+			try {
+				node = objectMapper.readTree(text);
+			} catch (JsonProcessingException e) {
+				reject(report, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+				continue;
+			}
+			if (!node.isObject()) {
+				reject(report, lineNumber, "Expected a JSON object");
+				continue;
+			}
+			convert(name -> {
+				JsonNode value = node.get(name);
+				return value == null || value.isNull() ? null : value.asText();
+			}, lineNumber, converter, updatedAt, writer, report);
+		}
+	}
+
+	private void readCsv(InputStream body, RowConverter converter, String updatedAt, CopyWriter writer, ImportReportDTO report)
+			throws IOException, SQLException {
+		CsvSchema schema = CsvSchema.emptySchema().withHeader();
+		try (MappingIterator<Map<String, String>> rows = csvMapper.readerForMapOf(String.class).with(schema).readValues(body)) {
+			while (true) {
+				Map<String, String> values;
+				long lineNumber;
+				try {
+					if (!rows.hasNextValue()) {
+						break;
+					}
+					values = rows.nextValue();
+					lineNumber = rows.getParser().currentTokenLocation().getLineNr();
+				} catch (IOException e) {
+					// The CSV tokenizer cannot resynchronise after a syntax error; rows before it are still loaded.
+					reject(report, rows.getCurrentLocation().getLineNr(), "Malformed CSV, import stopped here: " + e.getMessage());
+					report.setReceived(report.getReceived() + 1);
+					return;
+				}
+				report.setReceived(report.getReceived() + 1);
+				convert(name -> values.get(name), lineNumber, converter, updatedAt, writer, report);
+			}
+		}
+	}
+
+	private void convert(Row row, long lineNumber, RowConverter converter, String updatedAt, CopyWriter writer, ImportReportDTO report)
+			throws SQLException {
+		StringBuilder line = writer.line();
+		int mark = line.length();
+		try {
+			converter.append(name -> {
+				String value = row.field(name);
+				return value == null || value.isBlank() ? null : value.trim();
+			}, updatedAt, line);
+		} catch (IllegalArgumentException e) {
+			line.setLength(mark);
+			reject(report, lineNumber, e.getMessage());
+			return;
+		}
+		writer.endLine();
+	}
+
+	private void reject(ImportReportDTO report, long lineNumber, String message) {
+		report.setRejected(report.getRejected() + 1);
+		if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+			report.getErrors().add(new ImportReportDTO.RowError(lineNumber, message));
+		}
+	}
+
+	// Buffers COPY csv text and hands it to the driver in large chunks.
+	private static final class CopyWriter {
+
+		private final CopyIn copyIn;
+		private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+		private CopyWriter(CopyIn copyIn) {
+			this.copyIn = copyIn;
+		}
+
+		private StringBuilder line() {
+			return buffer;
+		}
+
+		private void endLine() throws SQLException {
+			buffer.append('\n');
+			if (buffer.length() >= COPY_BUFFER_CHARS) {
+				flush();
+			}
+		}
+
+		private void flush() throws SQLException {
+			if (buffer.length() > 0) {
+				byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+				copyIn.writeToCopy(bytes, 0, bytes.length);
+				buffer.setLength(0);
+			}
+		}
+	}
+
+	private static String requiredText(Row row, String name) {
+		String value = row.field(name);
+		if (value == null) {
+			throw new IllegalArgumentException(name + " is required");
+		}
+		return maxLength(name, value);
+	}
+
+	private static String optionalText(Row row, String name) {
+		String value = row.field(name);
+		return value == null ? null : maxLength(name, value);
+	}
+
+	private static String maxLength(String name, String value) {
+		if (value.length() > 255) {
+			throw new IllegalArgumentException(name + " is longer than 255 characters");
+		}
+		return value;
+	}
+
+	private static double coordinate(Row row, String name, double limit) {
+		double value = number(row, name);
+		if (value < -limit || value > limit) {
+			throw new IllegalArgumentException(name + " must be between " + -limit + " and " + limit);
+		}
+		return value;
+	}
+
+	// Missing hours default to 0, as they do for POST /api/auditor.
+	private static double hours(Row row, String name) {
+		if (row.field(name) == null) {
+			return 0;
+		}
+		double value = number(row, name);
+		if (value < 0) {
+			throw new IllegalArgumentException(name + " must not be negative");
+		}
+		return value;
+	}
+
+	private static double number(Row row, String name) {
+		String value = row.field(name);
+		if (value == null) {
+			throw new IllegalArgumentException(name + " is required");
+		}
+		try {
+			double number = Double.parseDouble(value);
+			if (!Double.isFinite(number)) {
+				throw new NumberFormatException();
+			}
+			return number;
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(name + " is not a number: " + value);
+		}
+	}
+
+	private static <E extends Enum<E>> E status(Row row, String name, Class<E> type, E defaultValue) {
+		String value = row.field(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(name + " must be one of " + Arrays.toString(type.getEnumConstants()) + ": " + value);
+		}
+	}
+
+	// COPY csv: quoted text keeps empty strings apart from NULL, which is an empty unquoted field.
+	private static void appendText(StringBuilder line, String value) {
+		if (value != null) {
+			line.append('"').append(value.replace("\"", "\"\"")).append('"');
+		}
+		line.append(',');
+	}
+
+	private static void appendNumber(StringBuilder line, double value) {
+		line.append(value).append(',');
+	}
+
+	private static void appendLast(StringBuilder line, String value) {
+		line.append(value);
+	}
+
+	private static void afterCommit(Runnable action) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private static void cancelQuietly(CopyIn copyIn) {
+		if (copyIn != null && copyIn.isActive()) {
+			try {
+				copyIn.cancelCopy();
+			} catch (SQLException e) {
+				logger.warn("Could not cancel COPY: {}", e.getMessage());
+			}
+		}
+	}
+
+}
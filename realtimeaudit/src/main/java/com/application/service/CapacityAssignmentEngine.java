@@ -0,0 +1,163 @@
+package com.application.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+
+/**
+ * Capacity-constrained assignment: an auditor keeps taking stores while its workload hours leave room
+ * for another audit (see {@link AuditorCapacity}), so one pass can cover more stores than there are
+ * auditors. Greedy bin packing on travel distance: every open store ranks its
+ * "plan.capacity.candidate-count" nearest auditors with room, and a priority queue keyed by each
+ * store's current best distance hands out the closest store-auditor pair first. A store whose
+ * candidates have all filled up moves on to the next one, and ranks again among the auditors that
+ * still have room once its list runs out. Distances come from the {@link DistanceMatrix} where it
+ * holds them.
+ */
+@Component
+public class CapacityAssignmentEngine implements AssignmentEngine {
+
+	public static final String NAME = "capacity";
+
+	private static final Logger logger = LoggerFactory.getLogger(CapacityAssignmentEngine.class);
+
+	private final DistanceMatrix distanceMatrix;
+
+	private final AuditorCapacity auditorCapacity;
+
+	private final int candidateCount;
+
+	// A store waiting in the queue, keyed by the distance to its current candidate.
+	private record QueuedStore(int store, double distanceKm) {
+	}
+
+	public CapacityAssignmentEngine(DistanceMatrix distanceMatrix, AuditorCapacity auditorCapacity,
+			@Value("${plan.capacity.candidate-count:20}") int candidateCount) {
+		this.distanceMatrix = distanceMatrix;
+		this.auditorCapacity = auditorCapacity;
+		this.candidateCount = Math.max(1, candidateCount);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean isCapacityAware() {
+		return true;
+	}
+
+	@Override
+	public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+		long start = System.nanoTime();
+		List<AuditorDTO> auditors = request.getAuditors();
+		List<StoreDTO> stores = request.getStores();
+
+		int[] auditsLeft = new int[auditors.size()];
+		for (int a = 0; a < auditors.size(); a++) {
+			if (LocalAssignmentResponses.isAvailable(auditors.get(a))) {
+				auditsLeft[a] = auditorCapacity.auditsLeft(auditors.get(a));
+			}
+		}
+
+		int storeCount = stores.size();
+		int[] assignedAuditor = new int[storeCount];
+		double[] distanceKm = new double[storeCount];
+		Arrays.fill(assignedAuditor, -1);
+
+		// Per store: candidate auditors nearest first, and the position of the one currently queued.
+		// Distances are copied out first, so the matrix's read lock is not held for the whole pass.
+		double[][] distanceByStore = new double[storeCount][];
+		try (DistanceMatrix.Lookup distances = distanceMatrix.lookup(auditors, stores)) {
+			for (int s = 0; s < storeCount; s++) {
+				if (!LocalAssignmentResponses.isOpen(stores.get(s))) {
+					continue;
+				}
+				distanceByStore[s] = new double[auditors.size()];
+				for (int a = 0; a < auditsLeft.length; a++) {
+					if (auditsLeft[a] > 0) {
+						distanceByStore[s][a] = distances.distanceKm(a, s);
+					}
+				}
+			}
+		}
+
+		int[][] candidates = new int[storeCount][];
+		double[][] candidateDistances = new double[storeCount][];
+		int[] position = new int[storeCount];
+		int assigned = 0;
+		PriorityQueue<QueuedStore> queue = new PriorityQueue<>((x, y) -> Double.compare(x.distanceKm(), y.distanceKm()));
+		for (int s = 0; s < storeCount; s++) {
+			if (distanceByStore[s] != null && rank(s, auditsLeft, distanceByStore[s], candidates, candidateDistances)) {
+				queue.add(new QueuedStore(s, candidateDistances[s][0]));
+			}
+		}
+		while (!queue.isEmpty()) {
+			int s = queue.poll().store();
+			int a = candidates[s][position[s]];
+			if (auditsLeft[a] > 0) {
+				auditsLeft[a]--;
+				assignedAuditor[s] = a;
+				distanceKm[s] = candidateDistances[s][position[s]];
+				assigned++;
+				distanceByStore[s] = null;
+				continue;
+			}
+			// Auditors only ever fill up, so a re-ranked list never starts closer than the one it replaces.
+			position[s]++;
+			if (position[s] == candidates[s].length) {
+				if (!rank(s, auditsLeft, distanceByStore[s], candidates, candidateDistances)) {
+					continue;
+				}
+				position[s] = 0;
+			}
+			queue.add(new QueuedStore(s, candidateDistances[s][position[s]]));
+		}
+		logger.info("Capacity engine assigned {} of {} stores to {} auditors in {} ms.", assigned, storeCount,
+				auditors.size(), (System.nanoTime() - start) / 1_000_000);
+		return LocalAssignmentResponses.fromMatching(request, assignedAuditor, distanceKm);
+	}
+
+	// Keeps the candidateCount nearest auditors with room for store s, nearest first; false when none has room.
+	private boolean rank(int s, int[] auditsLeft, double[] storeDistances, int[][] candidates, double[][] candidateDistances) {
+		int[] nearest = new int[candidateCount];
+		double[] nearestKm = new double[candidateCount];
+		int found = 0;
+		for (int a = 0; a < auditsLeft.length; a++) {
+			if (auditsLeft[a] == 0) {
+				continue;
+			}
+			double km = storeDistances[a];
+			if (found == candidateCount && km >= nearestKm[found - 1]) {
+				continue;
+			}
+			// Insertion into the short sorted list; the farthest entry drops off when it is full.
+			int i = found == candidateCount ? found - 1 : found++;
+			while (i > 0 && nearestKm[i - 1] > km) {
+				nearest[i] = nearest[i - 1];
+				nearestKm[i] = nearestKm[i - 1];
+				i--;
+			}
+			nearest[i] = a;
+			nearestKm[i] = km;
+		}
+		if (found == 0) {
+			return false;
+		}
+		candidates[s] = Arrays.copyOf(nearest, found);
+		candidateDistances[s] = Arrays.copyOf(nearestKm, found);
+		return true;
+	}
+
+}
@@ -0,0 +1,280 @@
+package com.application.service;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditorRepository;
+import com.application.repository.StoreRepository;
+
+/**
+ * Precomputed haversine distances between every AVAILABLE auditor and every OPEN store.
+ * Each auditor owns a double[] row indexed by store slot; creating, moving or toggling an
+ * auditor recomputes its row, and the same for a store recomputes its column, so the
+ * O(auditors x stores) build is paid once at startup. Engines read it through {@link #lookup},
+ * which falls back to computing the distance for anything the matrix does not hold (or holds
+ * at other coordinates). Beyond "distance.matrix.max-cells" the matrix switches itself off
+ * until the next rebuild.
+ */
+@Component
+public class DistanceMatrix {
+
+	private static final Logger logger = LoggerFactory.getLogger(DistanceMatrix.class);
+
+	private static final int INITIAL_SLOTS = 64;
+
+	private final AuditorRepository auditorRepository;
+
+	private final StoreRepository storeRepository;
+
+	private final long maxCells;
+
+	private final Map<Integer, Row> rows = new HashMap<>();
+	private final Map<Integer, Integer> slotByStoreId = new HashMap<>();
+	private final Deque<Integer> freeSlots = new ArrayDeque<>();
+	private double[] storeLat = new double[0];
+	private double[] storeLon = new double[0];
+	private int slotCount;
+	private boolean enabled;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private static final class Row {
+		private final double lat;
+		private final double lon;
+		private double[] distanceKm;
+
+		private Row(double lat, double lon, double[] distanceKm) {
+			this.lat = lat;
+			this.lon = lon;
+			this.distanceKm = distanceKm;
+		}
+	}
+
+	public DistanceMatrix(AuditorRepository auditorRepository, StoreRepository storeRepository,
+			@Value("${distance.matrix.max-cells:10000000}") long maxCells) {
+		this.auditorRepository = auditorRepository;
+		this.storeRepository = storeRepository;
+		this.maxCells = maxCells;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long start = System.nanoTime();
+		List<Auditors> auditors = auditorRepository.findByAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		List<Store> stores = storeRepository.findByStoreStatus(Store.StoreStatus.OPEN);
+		lock.writeLock().lock();
+		try {
+			rows.clear();
+			slotByStoreId.clear();
+			freeSlots.clear();
+			slotCount = 0;
+			enabled = maxCells > 0 && (long) auditors.size() * stores.size() <= maxCells;
+			if (!enabled) {
+				storeLat = new double[0];
+				storeLon = new double[0];
+				logger.warn("Distance matrix disabled: {} auditors x {} stores is over distance.matrix.max-cells={}; distances are computed per call.",
+						auditors.size(), stores.size(), maxCells);
+				return;
+			}
+			int capacity = Math.max(INITIAL_SLOTS, stores.size());
+			storeLat = new double[capacity];
+			storeLon = new double[capacity];
+			for (Store store : stores) {
+				int slot = slotCount++;
+				slotByStoreId.put(store.getId(), slot);
+				storeLat[slot] = store.getLocationLat();
+				storeLon[slot] = store.getLocationLon();
+			}
+			for (Auditors auditor : auditors) {
+				putRow(auditor);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Distance matrix built for {} auditors x {} stores in {} ms.", auditors.size(), stores.size(),
+				(System.nanoTime() - start) / 1_000_000);
+	}
+
+	// Adds, recomputes or drops the auditor's row depending on its current location and availability.
+	public void updateAuditor(Auditors auditor) {
+		lock.writeLock().lock();
+		try {
+			if (!enabled) {
+				return;
+			}
+			if (auditor.getAvailabilityStatus() != Auditors.AvailabilityStatus.AVAILABLE) {
+				rows.remove(auditor.getId());
+				return;
+			}
+			Row row = rows.get(auditor.getId());
+			if (row == null || row.lat != auditor.getHomeLat() || row.lon != auditor.getHomeLon()) {
+				if (row == null && !fits(rows.size() + 1, slotByStoreId.size())) {
+					disable();
+					return;
+				}
+				putRow(auditor);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Adds, recomputes or frees the store's column depending on its current location and status.
+	public void updateStore(Store store) {
+		lock.writeLock().lock();
+		try {
+			if (!enabled) {
+				return;
+			}
+			Integer slot = slotByStoreId.get(store.getId());
+			if (store.getStoreStatus() != Store.StoreStatus.OPEN) {
+				if (slot != null) {
+					slotByStoreId.remove(store.getId());
+					freeSlots.push(slot);
+				}
+				return;
+			}
+			if (slot != null && storeLat[slot] == store.getLocationLat() && storeLon[slot] == store.getLocationLon()) {
+				return;
+			}
+			if (slot == null) {
+				if (!fits(rows.size(), slotByStoreId.size() + 1)) {
+					disable();
+					return;
+				}
+				slot = allocateSlot();
+				slotByStoreId.put(store.getId(), slot);
+			}
+			storeLat[slot] = store.getLocationLat();
+			storeLon[slot] = store.getLocationLon();
+			for (Row row : rows.values()) {
+				row.distanceKm[slot] = GeoUtils.haversineDistance(store.getLocationLat(), store.getLocationLon(), row.lat, row.lon);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Distances for one request's auditors and stores, by their index in those lists. Holds the
+	 * matrix read lock until closed, and status updates wait on it, so the caller should copy out
+	 * the distances it needs and close it before running its algorithm.
+	 */
+	public Lookup lookup(List<AuditorDTO> auditors, List<StoreDTO> stores) {
+		return new Lookup(auditors, stores);
+	}
+
+	public final class Lookup implements AutoCloseable {
+
+		private final List<AuditorDTO> auditors;
+		private final List<StoreDTO> stores;
+		private final double[][] auditorRows;
+		private final int[] storeSlots;
+
+		private Lookup(List<AuditorDTO> auditors, List<StoreDTO> stores) {
+			this.auditors = auditors;
+			this.stores = stores;
+			this.auditorRows = new double[auditors.size()][];
+			this.storeSlots = new int[stores.size()];
+			Arrays.fill(storeSlots, -1);
+			lock.readLock().lock();
+			try {
+				if (enabled) {
+					resolve();
+				}
+			} catch (RuntimeException e) {
+				lock.readLock().unlock();
+				throw e;
+			}
+		}
+
+		private void resolve() {
+			for (int a = 0; a < auditors.size(); a++) {
+				AuditorDTO auditor = auditors.get(a);
+				Row row = rows.get(auditor.getAuditorId());
+				if (row != null && row.lat == auditor.getLatitude() && row.lon == auditor.getLongitude()) {
+					auditorRows[a] = row.distanceKm;
+				}
+			}
+			for (int s = 0; s < stores.size(); s++) {
+				StoreDTO store = stores.get(s);
+				Integer slot = slotByStoreId.get(store.getStoreId());
+				if (slot != null && storeLat[slot] == store.getLatitude() && storeLon[slot] == store.getLongitude()) {
+					storeSlots[s] = slot;
+				}
+			}
+		}
+
+		public double distanceKm(int auditorIndex, int storeIndex) {
+			double[] row = auditorRows[auditorIndex];
+			int slot = storeSlots[storeIndex];
+			if (row != null && slot >= 0) {
+				return row[slot];
+			}
+			StoreDTO store = stores.get(storeIndex);
+			AuditorDTO auditor = auditors.get(auditorIndex);
+			return GeoUtils.haversineDistance(store.getLatitude(), store.getLongitude(), auditor.getLatitude(), auditor.getLongitude());
+		}
+
+		@Override
+		public void close() {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void putRow(Auditors auditor) {
+		double[] distanceKm = new double[storeLat.length];
+		for (int slot : slotByStoreId.values()) {
+			distanceKm[slot] = GeoUtils.haversineDistance(storeLat[slot], storeLon[slot], auditor.getHomeLat(), auditor.getHomeLon());
+		}
+		rows.put(auditor.getId(), new Row(auditor.getHomeLat(), auditor.getHomeLon(), distanceKm));
+	}
+
+	// Reuses a freed slot, or appends one and doubles every row when the capacity runs out.
+	private int allocateSlot() {
+		if (!freeSlots.isEmpty()) {
+			return freeSlots.pop();
+		}
+		if (slotCount == storeLat.length) {
+			int capacity = Math.max(INITIAL_SLOTS, storeLat.length * 2);
+			storeLat = Arrays.copyOf(storeLat, capacity);
+			storeLon = Arrays.copyOf(storeLon, capacity);
+			for (Row row : rows.values()) {
+				row.distanceKm = Arrays.copyOf(row.distanceKm, capacity);
+			}
+		}
+		return slotCount++;
+	}
+
+	private boolean fits(long auditorCount, long storeCount) {
+		return auditorCount * storeCount <= maxCells;
+	}
+
+	private void disable() {
+		enabled = false;
+		rows.clear();
+		slotByStoreId.clear();
+		freeSlots.clear();
+		storeLat = new double[0];
+		storeLon = new double[0];
+		slotCount = 0;
+		logger.warn("Distance matrix disabled: it would grow over distance.matrix.max-cells={}; distances are computed per call.", maxCells);
+	}
+
+}
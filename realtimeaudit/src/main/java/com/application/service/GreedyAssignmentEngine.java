@@ -0,0 +1,103 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+
+/**
+ * Java port of assign_with_greedy_algorithm() from the Python solver: stores closest to any
+ * auditor go first and each takes its nearest auditor that is still free. Not optimal, but
+ * cheap and dependency-free, which makes it the fallback when the remote solver is unavailable.
+ * Distances come from the {@link DistanceMatrix} where it holds them.
+ */
+@Component
+public class GreedyAssignmentEngine implements AssignmentEngine {
+
+	public static final String NAME = "greedy";
+
+	private final DistanceMatrix distanceMatrix;
+
+	public GreedyAssignmentEngine(DistanceMatrix distanceMatrix) {
+		this.distanceMatrix = distanceMatrix;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+		List<AuditorDTO> auditors = request.getAuditors();
+		List<StoreDTO> stores = request.getStores();
+
+		List<Integer> availableAuditors = new ArrayList<>();
+		for (int a = 0; a < auditors.size(); a++) {
+			if (LocalAssignmentResponses.isAvailable(auditors.get(a))) {
+				availableAuditors.add(a);
+			}
+		}
+
+		// Distances are copied out first, so the matrix's read lock is not held while ranking.
+		int storeCount = stores.size();
+		double[][] distanceByStore = new double[storeCount][];
+		try (DistanceMatrix.Lookup distances = distanceMatrix.lookup(auditors, stores)) {
+			for (int s = 0; s < storeCount; s++) {
+				if (!LocalAssignmentResponses.isOpen(stores.get(s)) || availableAuditors.isEmpty()) {
+					continue;
+				}
+				distanceByStore[s] = new double[auditors.size()];
+				for (int a : availableAuditors) {
+					distanceByStore[s][a] = distances.distanceKm(a, s);
+				}
+			}
+		}
+
+		// Per store: candidate auditors sorted by distance.
+		int[][] rankedAuditors = new int[storeCount][];
+		double[][] rankedDistances = new double[storeCount][];
+		List<Integer> storeOrder = new ArrayList<>();
+		for (int s = 0; s < storeCount; s++) {
+			double[] distance = distanceByStore[s];
+			if (distance == null) {
+				continue;
+			}
+			Integer[] order = availableAuditors.toArray(new Integer[0]);
+			Arrays.sort(order, (x, y) -> Double.compare(distance[x], distance[y]));
+			rankedAuditors[s] = new int[order.length];
+			rankedDistances[s] = new double[order.length];
+			for (int i = 0; i < order.length; i++) {
+				rankedAuditors[s][i] = order[i];
+				rankedDistances[s][i] = distance[order[i]];
+			}
+			distanceByStore[s] = null;
+			storeOrder.add(s);
+		}
+		storeOrder.sort((x, y) -> Double.compare(rankedDistances[x][0], rankedDistances[y][0]));
+
+		int[] assignedAuditor = new int[storeCount];
+		double[] distanceKm = new double[storeCount];
+		Arrays.fill(assignedAuditor, -1);
+		boolean[] taken = new boolean[auditors.size()];
+		for (int s : storeOrder) {
+			for (int i = 0; i < rankedAuditors[s].length; i++) {
+				int a = rankedAuditors[s][i];
+				if (!taken[a]) {
+					taken[a] = true;
+					assignedAuditor[s] = a;
+					distanceKm[s] = rankedDistances[s][i];
+					break;
+				}
+			}
+		}
+		return LocalAssignmentResponses.fromMatching(request, assignedAuditor, distanceKm);
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+
+/**
+ * Optimal one-to-one assignment solved in-process with the Hungarian algorithm
+ * (Kuhn-Munkres with potentials), using the haversine distance as the cost.
+ * It covers min(auditors, stores) stores and minimises the total travel distance.
+ * Costs are read from the {@link DistanceMatrix} where it holds them.
+ */
+@Component
+public class HungarianAssignmentEngine implements AssignmentEngine {
+
+	public static final String NAME = "hungarian";
+
+	private static final Logger logger = LoggerFactory.getLogger(HungarianAssignmentEngine.class);
+
+	private final DistanceMatrix distanceMatrix;
+
+	public HungarianAssignmentEngine(DistanceMatrix distanceMatrix) {
+		this.distanceMatrix = distanceMatrix;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+		long start = System.nanoTime();
+		double[] distanceKm = new double[request.getStores().size()];
+		int[] assignedAuditor = match(request.getAuditors(), request.getStores(), distanceKm);
+		logger.info("Hungarian engine solved {} auditors x {} stores in {} ms.", request.getAuditors().size(),
+				request.getStores().size(), (System.nanoTime() - start) / 1_000_000);
+		return LocalAssignmentResponses.fromMatching(request, assignedAuditor, distanceKm);
+	}
+
+	/**
+	 * Optimal matching of the given stores against the given auditors.
+	 *
+	 * @param distanceKm filled in with the distance of every assigned store
+	 * @return index into auditors for every store, or -1 when the store stays unassigned
+	 */
+	int[] match(List<AuditorDTO> auditors, List<StoreDTO> stores, double[] distanceKm) {
+		long start = System.nanoTime();
+
+		// Only available auditors and open stores take part in the matching, like the Python greedy fallback.
+		List<Integer> auditorIdx = new ArrayList<>();
+		for (int a = 0; a < auditors.size(); a++) {
+			if (LocalAssignmentResponses.isAvailable(auditors.get(a))) {
+				auditorIdx.add(a);
+			}
+		}
+		List<Integer> storeIdx = new ArrayList<>();
+		for (int s = 0; s < stores.size(); s++) {
+			if (LocalAssignmentResponses.isOpen(stores.get(s))) {
+				storeIdx.add(s);
+			}
+		}
+
+		int[] assignedAuditor = new int[stores.size()];
+		Arrays.fill(assignedAuditor, -1);
+
+		if (!auditorIdx.isEmpty() && !storeIdx.isEmpty()) {
+			// The algorithm needs rows <= columns, so the smaller side becomes the rows.
+			boolean storesAreRows = storeIdx.size() <= auditorIdx.size();
+			int rows = storesAreRows ? storeIdx.size() : auditorIdx.size();
+			int cols = storesAreRows ? auditorIdx.size() : storeIdx.size();
+
+			double[] cost = new double[rows * cols];
+			try (DistanceMatrix.Lookup distances = distanceMatrix.lookup(auditors, stores)) {
+				for (int r = 0; r < rows; r++) {
+					for (int c = 0; c < cols; c++) {
+						int s = storeIdx.get(storesAreRows ? r : c);
+						int a = auditorIdx.get(storesAreRows ? c : r);
+						cost[r * cols + c] = distances.distanceKm(a, s);
+					}
+				}
+			}
+
+			int[] rowToCol = solve(cost, rows, cols);
+			for (int r = 0; r < rows; r++) {
+				int c = rowToCol[r];
+				int s = storeIdx.get(storesAreRows ? r : c);
+				assignedAuditor[s] = auditorIdx.get(storesAreRows ? c : r);
+				distanceKm[s] = cost[r * cols + c];
+			}
+		}
+
+		logger.debug("Hungarian engine matched {} auditors against {} stores in {} ms.", auditorIdx.size(), storeIdx.size(),
+				(System.nanoTime() - start) / 1_000_000);
+		return assignedAuditor;
+	}
+
+	/**
+	 * Minimum-cost assignment of every row to a distinct column of a rows x cols (rows <= cols)
+	 * row-major cost matrix. Runs in O(rows^2 * cols).
+	 *
+	 * @return the column chosen for each row
+	 */
+	static int[] solve(double[] cost, int rows, int cols) {
+		// 1-based potentials and matching as in the classic formulation; column 0 is a sentinel.
+		double[] u = new double[rows + 1];
+		double[] v = new double[cols + 1];
+		int[] rowOfCol = new int[cols + 1];
+		int[] way = new int[cols + 1];
+		double[] minv = new double[cols + 1];
+		boolean[] used = new boolean[cols + 1];
+
+		for (int i = 1; i <= rows; i++) {
+			rowOfCol[0] = i;
+			int j0 = 0;
+			Arrays.fill(minv, Double.POSITIVE_INFINITY);
+			Arrays.fill(used, false);
+			do {
+				used[j0] = true;
+				int i0 = rowOfCol[j0];
+				int rowOffset = (i0 - 1) * cols;
+				double delta = Double.POSITIVE_INFINITY;
+				int j1 = 0;
+				for (int j = 1; j <= cols; j++) {
+					if (!used[j]) {
+						double cur = cost[rowOffset + j - 1] - u[i0] - v[j];
+						if (cur < minv[j]) {
+							minv[j] = cur;
+							way[j] = j0;
+						}
+						if (minv[j] < delta) {
+							delta = minv[j];
+							j1 = j;
+						}
+					}
+				}
+				for (int j = 0; j <= cols; j++) {
+					if (used[j]) {
+						u[rowOfCol[j]] += delta;
+						v[j] -= delta;
+					} else {
+						minv[j] -= delta;
+					}
+				}
+				j0 = j1;
+			} while (rowOfCol[j0] != 0);
+			do {
+				int j1 = way[j0];
+				rowOfCol[j0] = rowOfCol[j1];
+				j0 = j1;
+			} while (j0 != 0);
+		}
+
+		int[] rowToCol = new int[rows];
+		for (int j = 1; j <= cols; j++) {
+			if (rowOfCol[j] != 0) {
+				rowToCol[rowOfCol[j] - 1] = j - 1;
+			}
+		}
+		return rowToCol;
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.ResponseData;
+import com.application.DTO.SolverAuditorResult;
+import com.application.DTO.SolverStoreResult;
+import com.application.DTO.StoreDTO;
+
+// Builds the same response body the Flask service returns, for engines that run inside the JVM.
+final class LocalAssignmentResponses {
+
+	private LocalAssignmentResponses() {
+	}
+
+	/**
+	 * @param assignedAuditor index into request.getAuditors() for every store, or -1 when the store stays unassigned
+	 * @param distanceKm      distance for every assigned store
+	 */
+	static AssignmentResponseDTO fromMatching(AssignmentRequestDTO request, int[] assignedAuditor, double[] distanceKm) {
+		List<AuditorDTO> auditors = request.getAuditors();
+		List<StoreDTO> stores = request.getStores();
+
+		List<List<Integer>> storesPerAuditor = new ArrayList<>(auditors.size());
+		for (int a = 0; a < auditors.size(); a++) {
+			storesPerAuditor.add(new ArrayList<>(1));
+		}
+
+		List<SolverStoreResult> storeResults = new ArrayList<>(stores.size());
+		for (int s = 0; s < stores.size(); s++) {
+			int storeId = stores.get(s).getStoreId();
+			if (assignedAuditor[s] >= 0) {
+				AuditorDTO auditor = auditors.get(assignedAuditor[s]);
+				storesPerAuditor.get(assignedAuditor[s]).add(storeId);
+				storeResults.add(new SolverStoreResult(storeId, auditor.getAuditorId(), Math.round(distanceKm[s] * 100.0) / 100.0));
+			} else {
+				storeResults.add(new SolverStoreResult(storeId, null, null));
+			}
+		}
+
+		List<SolverAuditorResult> auditorResults = new ArrayList<>(auditors.size());
+		for (int a = 0; a < auditors.size(); a++) {
+			auditorResults.add(new SolverAuditorResult(auditors.get(a).getAuditorId(), storesPerAuditor.get(a), null, null, null));
+		}
+
+		return new AssignmentResponseDTO("success", "SUCCESS", new ResponseData(auditorResults, storeResults, new ArrayList<>()));
+	}
+
+	static boolean isAvailable(AuditorDTO auditor) {
+		return "Available".equalsIgnoreCase(auditor.getAvailabilityStatus());
+	}
+
+	static boolean isOpen(StoreDTO store) {
+		return "Open".equalsIgnoreCase(store.getStoreStatus());
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.application.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes a repository stream as newline-delimited JSON, one row at a time.
+ * Must be called inside the (read-only) transaction that opened the stream.
+ */
+@Component
+public class NdjsonWriter {
+
+	// Rows between explicit flushes, so the client sees data before the export finishes.
+	private static final int FLUSH_EVERY_ROWS = 500;
+
+	private final ObjectWriter objectWriter;
+	private final ObjectMapper objectMapper;
+	private final EntityManager entityManager;
+
+	public NdjsonWriter(ObjectMapper objectMapper, EntityManager entityManager) {
+		this.objectMapper = objectMapper;
+		this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * @param detachRows true when the rows are managed entities; each one is detached after it is written
+	 *                   so the persistence context does not grow with the export
+	 * @return number of rows written
+	 */
+	public <T> long write(Stream<T> rows, OutputStream out, boolean detachRows) throws IOException {
+		long count = 0;
+		try (Stream<T> closing = rows;
+				JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			Iterator<T> iterator = closing.iterator();
+			while (iterator.hasNext()) {
+				T row = iterator.next();
+				objectWriter.writeValue(generator, row);
+				generator.writeRaw('\n');
+				if (detachRows) {
+					entityManager.detach(row);
+				}
+				if (++count % FLUSH_EVERY_ROWS == 0) {
+					generator.flush();
+				}
+			}
+			generator.flush();
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,267 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Splits a large snapshot into lat/lon grid regions and solves each region with the Hungarian
+ * algorithm in parallel on a dedicated ForkJoinPool, so planning time follows the size of the
+ * largest region instead of the whole estate. Cross-border fixes are solved the same way:
+ * stores whose auditor is farther away than the edge of their cell are re-solved on a grid
+ * shifted by half a cell, and stores still left without an auditor are matched against the
+ * free auditors on ever coarser grids. Snapshots below "assignment.partition.min-size" are
+ * solved in one piece. No single Hungarian problem grows past "assignment.partition.max-region-size"
+ * auditors plus stores: a larger region, typically a coarse one where stores cluster away from the
+ * auditors, is solved in chunks of stores against the free auditors nearest to each chunk.
+ */
+@Component
+public class PartitionedAssignmentEngine implements AssignmentEngine {
+
+	public static final String NAME = "partitioned";
+
+	private static final Logger logger = LoggerFactory.getLogger(PartitionedAssignmentEngine.class);
+
+	private final HungarianAssignmentEngine regionEngine;
+
+	private final double cellDegrees;
+
+	private final int minPartitionSize;
+
+	private final int maxRegionSize;
+
+	private final ForkJoinPool regionPool;
+
+	// Indices into the request's auditor and store lists that fall into one grid cell.
+	private record Region(List<Integer> auditors, List<Integer> stores) {
+	}
+
+	public PartitionedAssignmentEngine(HungarianAssignmentEngine regionEngine,
+			@Value("${assignment.partition.cell-degrees:2.0}") double cellDegrees,
+			@Value("${assignment.partition.min-size:2000}") int minPartitionSize,
+			@Value("${assignment.partition.max-region-size:1000}") int maxRegionSize,
+			@Value("${assignment.partition.parallelism:0}") int parallelism) {
+		this.regionEngine = regionEngine;
+		this.cellDegrees = cellDegrees;
+		this.minPartitionSize = minPartitionSize;
+		this.maxRegionSize = Math.max(2, maxRegionSize);
+		this.regionPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+		List<AuditorDTO> auditors = request.getAuditors();
+		List<StoreDTO> stores = request.getStores();
+		if (auditors.size() + stores.size() < minPartitionSize) {
+			return regionEngine.assign(request);
+		}
+		long start = System.nanoTime();
+
+		int[] assignedAuditor = new int[stores.size()];
+		double[] distanceKm = new double[stores.size()];
+		Arrays.fill(assignedAuditor, -1);
+
+		List<Integer> openStores = new ArrayList<>();
+		for (int s = 0; s < stores.size(); s++) {
+			if (LocalAssignmentResponses.isOpen(stores.get(s))) {
+				openStores.add(s);
+			}
+		}
+		List<Integer> availableAuditors = new ArrayList<>();
+		for (int a = 0; a < auditors.size(); a++) {
+			if (LocalAssignmentResponses.isAvailable(auditors.get(a))) {
+				availableAuditors.add(a);
+			}
+		}
+
+		// 1. Independent regions.
+		int regionCount = solveGrid(auditors, stores, availableAuditors, openStores, cellDegrees, 0, assignedAuditor, distanceKm);
+		long regionsDone = System.nanoTime();
+
+		// 2. Border stores whose match may have a closer auditor in the next cell are released and re-solved
+		//    with every unused auditor on a grid shifted by half a cell, so the old borders run through cell centres.
+		List<Integer> borderStores = new ArrayList<>();
+		for (int s : openStores) {
+			StoreDTO store = stores.get(s);
+			if (assignedAuditor[s] < 0) {
+				borderStores.add(s);
+			} else if (distanceKm[s] > distanceToCellEdgeKm(store.getLatitude(), store.getLongitude())) {
+				borderStores.add(s);
+				assignedAuditor[s] = -1;
+			}
+		}
+		List<Integer> borderAuditors = freeAuditors(availableAuditors, assignedAuditor, auditors.size());
+		solveGrid(auditors, stores, borderAuditors, borderStores, cellDegrees, cellDegrees / 2, assignedAuditor, distanceKm);
+
+		// 3. Whatever is still unassigned competes for the free auditors on coarser and coarser grids.
+		double coarseDegrees = cellDegrees;
+		List<Integer> leftStores = unassignedStores(openStores, assignedAuditor);
+		List<Integer> freeAuditors = freeAuditors(availableAuditors, assignedAuditor, auditors.size());
+		while (!leftStores.isEmpty() && !freeAuditors.isEmpty() && coarseDegrees < 360) {
+			coarseDegrees *= 2;
+			solveGrid(auditors, stores, freeAuditors, leftStores, coarseDegrees, 0, assignedAuditor, distanceKm);
+			leftStores = unassignedStores(openStores, assignedAuditor);
+			freeAuditors = freeAuditors(availableAuditors, assignedAuditor, auditors.size());
+		}
+
+		logger.info("Partitioned engine solved {} regions in {} ms on {} threads, then re-solved {} border stores in {} ms.",
+				regionCount, (regionsDone - start) / 1_000_000, regionPool.getParallelism(), borderStores.size(),
+				(System.nanoTime() - regionsDone) / 1_000_000);
+		return LocalAssignmentResponses.fromMatching(request, assignedAuditor, distanceKm);
+	}
+
+	/**
+	 * Buckets the given auditors and stores into cells of the given size (shifted east and north by
+	 * offsetDegrees) and solves every cell that has both, in parallel. Each cell only writes the slots
+	 * of its own stores, so the shared result arrays need no locking. Cells over the region size limit
+	 * are solved in chunks.
+	 *
+	 * @return the number of cells solved
+	 */
+	private int solveGrid(List<AuditorDTO> auditors, List<StoreDTO> stores, List<Integer> auditorIdx, List<Integer> storeIdx,
+			double degrees, double offsetDegrees, int[] assignedAuditor, double[] distanceKm) {
+		Map<Long, Region> regions = new LinkedHashMap<>();
+		for (int s : storeIdx) {
+			StoreDTO store = stores.get(s);
+			regions.computeIfAbsent(cellKey(store.getLatitude(), store.getLongitude(), degrees, offsetDegrees),
+					ignored -> new Region(new ArrayList<>(), new ArrayList<>())).stores().add(s);
+		}
+		for (int a : auditorIdx) {
+			AuditorDTO auditor = auditors.get(a);
+			Region region = regions.get(cellKey(auditor.getLatitude(), auditor.getLongitude(), degrees, offsetDegrees));
+			if (region != null) {
+				region.auditors().add(a);
+			}
+		}
+		List<Region> solvable = regions.values().stream().filter(region -> !region.auditors().isEmpty()).toList();
+		regionPool.submit(() -> solvable.parallelStream()
+				.forEach(region -> {
+					if (region.auditors().size() + region.stores().size() <= maxRegionSize) {
+						solve(auditors, stores, region.auditors(), region.stores(), assignedAuditor, distanceKm);
+					} else {
+						solveInChunks(auditors, stores, region, assignedAuditor, distanceKm);
+					}
+				}))
+				.join();
+		return solvable.size();
+	}
+
+	/**
+	 * Solves an oversized region piece by piece: its stores in chunks of half the region size limit,
+	 * taken in base-grid cell order so a chunk stays compact, each matched against as many of the
+	 * region's free auditors, nearest to the chunk's centre first, as keep it within the limit.
+	 * Auditors taken by one chunk are not offered to the next.
+	 */
+	private void solveInChunks(List<AuditorDTO> auditors, List<StoreDTO> stores, Region region,
+			int[] assignedAuditor, double[] distanceKm) {
+		int chunkSize = maxRegionSize / 2;
+		List<Integer> orderedStores = new ArrayList<>(region.stores());
+		orderedStores.sort(Comparator.<Integer>comparingLong(s -> cellKey(stores.get(s).getLatitude(), stores.get(s).getLongitude(), cellDegrees, 0))
+				.thenComparingDouble(s -> stores.get(s).getLatitude()));
+		List<Integer> freeAuditors = new ArrayList<>(region.auditors());
+		for (int from = 0; from < orderedStores.size() && !freeAuditors.isEmpty(); from += chunkSize) {
+			List<Integer> chunk = orderedStores.subList(from, Math.min(orderedStores.size(), from + chunkSize));
+			double lat = 0;
+			double lon = 0;
+			for (int s : chunk) {
+				lat += stores.get(s).getLatitude() / chunk.size();
+				lon += stores.get(s).getLongitude() / chunk.size();
+			}
+			double[] distanceFromCentre = new double[auditors.size()];
+			for (int a : freeAuditors) {
+				distanceFromCentre[a] = GeoUtils.haversineDistance(lat, lon, auditors.get(a).getLatitude(), auditors.get(a).getLongitude());
+			}
+			freeAuditors.sort(Comparator.comparingDouble(a -> distanceFromCentre[a]));
+			List<Integer> offered = freeAuditors.subList(0, Math.min(freeAuditors.size(), maxRegionSize - chunk.size()));
+
+			solve(auditors, stores, offered, chunk, assignedAuditor, distanceKm);
+			Set<Integer> taken = new HashSet<>();
+			for (int s : chunk) {
+				if (assignedAuditor[s] >= 0) {
+					taken.add(assignedAuditor[s]);
+				}
+			}
+			freeAuditors.removeIf(taken::contains);
+		}
+	}
+
+	private static List<Integer> unassignedStores(List<Integer> openStores, int[] assignedAuditor) {
+		return openStores.stream().filter(s -> assignedAuditor[s] < 0).toList();
+	}
+
+	private static List<Integer> freeAuditors(List<Integer> availableAuditors, int[] assignedAuditor, int auditorCount) {
+		boolean[] used = new boolean[auditorCount];
+		for (int a : assignedAuditor) {
+			if (a >= 0) {
+				used[a] = true;
+			}
+		}
+		return availableAuditors.stream().filter(a -> !used[a]).toList();
+	}
+
+	// Matches a subset of the snapshot and writes the result back into the snapshot-wide arrays.
+	private void solve(List<AuditorDTO> auditors, List<StoreDTO> stores, List<Integer> auditorIdx, List<Integer> storeIdx,
+			int[] assignedAuditor, double[] distanceKm) {
+		List<AuditorDTO> subAuditors = new ArrayList<>(auditorIdx.size());
+		auditorIdx.forEach(a -> subAuditors.add(auditors.get(a)));
+		List<StoreDTO> subStores = new ArrayList<>(storeIdx.size());
+		storeIdx.forEach(s -> subStores.add(stores.get(s)));
+
+		double[] subDistanceKm = new double[subStores.size()];
+		int[] subAssigned = regionEngine.match(subAuditors, subStores, subDistanceKm);
+		for (int i = 0; i < subAssigned.length; i++) {
+			if (subAssigned[i] >= 0) {
+				int s = storeIdx.get(i);
+				assignedAuditor[s] = auditorIdx.get(subAssigned[i]);
+				distanceKm[s] = subDistanceKm[i];
+			}
+		}
+	}
+
+	// Shortest distance from the point to the border of its own cell: along the meridian to the
+	// bounding parallels, and the cross-track distance to the bounding meridians.
+	private double distanceToCellEdgeKm(double lat, double lon) {
+		double south = Math.floor((lat + 90.0) / cellDegrees) * cellDegrees - 90.0;
+		double west = Math.floor((lon + 180.0) / cellDegrees) * cellDegrees - 180.0;
+		double latGap = Math.min(lat - south, south + cellDegrees - lat);
+		double lonGap = Math.min(lon - west, west + cellDegrees - lon);
+		double toParallel = Math.toRadians(latGap) * GeoUtils.EARTH_RADIUS_KM;
+		double toMeridian = Math.asin(Math.cos(Math.toRadians(lat)) * Math.sin(Math.toRadians(lonGap))) * GeoUtils.EARTH_RADIUS_KM;
+		return Math.min(toParallel, toMeridian);
+	}
+
+	private static long cellKey(double lat, double lon, double degrees, double offsetDegrees) {
+		long row = (long) Math.floor((lat + 90.0 + offsetDegrees) / degrees);
+		long col = (long) Math.floor((lon + 180.0 + offsetDegrees) / degrees);
+		return (row << 32) | col;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		regionPool.shutdown();
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.application.service;
+
+import java.util.Optional;
+
+import com.application.DTO.PlanGenerationJobDTO;
+
+public interface PlanGenerationJobService {
+
+	// Queues a generation run and returns at once; an identical run already queued or running is reused.
+	// An incremental run only re-solves what changed since the last successful run.
+	PlanGenerationJobDTO submit(String engineName, boolean incremental);
+
+	Optional<PlanGenerationJobDTO> findJob(String jobId);
+
+}
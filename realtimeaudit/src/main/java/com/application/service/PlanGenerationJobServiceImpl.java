@@ -0,0 +1,138 @@
+package com.application.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.application.DTO.AuditPlanResponseDTO;
+import com.application.DTO.PlanGenerationJobDTO;
+import com.application.DTO.PlanGenerationJobDTO.JobStatus;
+
+/**
+ * Runs {@link AuditPlanService#generateAndSaveAuditPlan(String)} on the bounded "planGenerationExecutor"
+ * and keeps the outcome in memory for "plan.jobs.retention-minutes" so clients can poll for it.
+ * With the default single worker, runs never overlap and each one sees the plans saved by the last.
+ */
+@Service
+public class PlanGenerationJobServiceImpl implements PlanGenerationJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PlanGenerationJobServiceImpl.class);
+
+	private final AuditPlanService auditPlanService;
+
+	private final TaskExecutor planGenerationExecutor;
+
+	private final Duration retention;
+
+	private final Map<String, PlanGenerationJobDTO> jobs = new ConcurrentHashMap<>();
+
+	public PlanGenerationJobServiceImpl(AuditPlanService auditPlanService,
+			@Qualifier("planGenerationExecutor") TaskExecutor planGenerationExecutor,
+			@Value("${plan.jobs.retention-minutes:60}") long retentionMinutes) {
+		this.auditPlanService = auditPlanService;
+		this.planGenerationExecutor = planGenerationExecutor;
+		this.retention = Duration.ofMinutes(retentionMinutes);
+	}
+
+	// Synchronized so two dashboards pressing "generate" together end up sharing one job.
+	@Override
+	public synchronized PlanGenerationJobDTO submit(String engineName, boolean incremental) {
+		String engine = auditPlanService.resolveEngineName(engineName);
+		purgeExpiredJobs();
+
+		Optional<PlanGenerationJobDTO> active = jobs.values().stream()
+				.filter(job -> job.getEngine().equals(engine) && job.isIncremental() == incremental)
+				.filter(job -> job.getStatus() == JobStatus.QUEUED || job.getStatus() == JobStatus.RUNNING)
+				.findFirst();
+		if (active.isPresent()) {
+			logger.info("{} plan generation with the '{}' engine is already pending as job {}.",
+					incremental ? "Incremental" : "Full", engine, active.get().getJobId());
+			return snapshot(active.get());
+		}
+
+		PlanGenerationJobDTO job = new PlanGenerationJobDTO();
+		job.setJobId(UUID.randomUUID().toString());
+		job.setEngine(engine);
+		job.setIncremental(incremental);
+		job.setStatus(JobStatus.QUEUED);
+		job.setMessage("Waiting for a free plan-generation worker.");
+		job.setSubmittedAt(Instant.now());
+
+		// A full queue throws TaskRejectedException before the job is registered.
+		planGenerationExecutor.execute(() -> run(job));
+		jobs.put(job.getJobId(), job);
+		logger.info("Queued {} plan generation job {} with the '{}' engine.", incremental ? "incremental" : "full", job.getJobId(), engine);
+		return snapshot(job);
+	}
+
+	@Override
+	public Optional<PlanGenerationJobDTO> findJob(String jobId) {
+		return Optional.ofNullable(jobs.get(jobId)).map(this::snapshot);
+	}
+
+	private void run(PlanGenerationJobDTO job) {
+		update(job, running -> {
+			running.setStatus(JobStatus.RUNNING);
+			running.setMessage("Generating audit plans.");
+			running.setStartedAt(Instant.now());
+		});
+		try {
+			List<AuditPlanResponseDTO> newPlanDTOs = job.isIncremental()
+					? auditPlanService.generateIncrementalAuditPlan(job.getEngine())
+					: auditPlanService.generateAndSaveAuditPlan(job.getEngine());
+			update(job, done -> {
+				done.setStatus(JobStatus.SUCCEEDED);
+				done.setMessage("Successfully generated " + newPlanDTOs.size() + " new assignments.");
+				done.setAssignmentCount(newPlanDTOs.size());
+				done.setAssignments(newPlanDTOs);
+				done.setFinishedAt(Instant.now());
+			});
+			logger.info("Plan generation job {} finished with {} new assignments.", job.getJobId(), newPlanDTOs.size());
+		} catch (Exception e) {
+			logger.error("Plan generation job {} failed", job.getJobId(), e);
+			update(job, failed -> {
+				failed.setStatus(JobStatus.FAILED);
+				failed.setMessage("An internal server error occurred.");
+				failed.setError(e.getMessage());
+				failed.setFinishedAt(Instant.now());
+			});
+		}
+	}
+
+	// Jobs are mutated by the worker and read by request threads; both go through the job's monitor.
+	private void update(PlanGenerationJobDTO job, Consumer<PlanGenerationJobDTO> change) {
+		synchronized (job) {
+			change.accept(job);
+		}
+	}
+
+	private PlanGenerationJobDTO snapshot(PlanGenerationJobDTO job) {
+		synchronized (job) {
+			return new PlanGenerationJobDTO(job.getJobId(), job.getEngine(), job.isIncremental(), job.getStatus(), job.getMessage(),
+					job.getSubmittedAt(), job.getStartedAt(), job.getFinishedAt(),
+					job.getAssignmentCount(), job.getAssignments(), job.getError());
+		}
+	}
+
+	private void purgeExpiredJobs() {
+		Instant cutoff = Instant.now().minus(retention);
+		jobs.values().removeIf(job -> {
+			synchronized (job) {
+				return job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.application.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.application.DTO.SolverStoreResult;
+
+/**
+ * Applies the planning rules to store recommendations one at a time, as they arrive from an
+ * engine: each store is planned at most once and each auditor gets at most one store, or in
+ * capacity planning at most as many stores as its workload hours leave room for.
+ * Only the accepted store -> auditor pairs are kept.
+ */
+class RecommendationValidator implements Consumer<SolverStoreResult> {
+
+	private static final Logger logger = LoggerFactory.getLogger(RecommendationValidator.class);
+
+	private final Map<Integer, Integer> auditorIdByStoreId = new LinkedHashMap<>();
+	private final Map<Integer, Integer> storeCountByAuditorId = new HashMap<>();
+	// Stores each auditor may still take; null means one store per auditor.
+	private final Map<Integer, Integer> auditsLeftByAuditorId;
+	private int received;
+	private int rejected;
+
+	RecommendationValidator() {
+		this(null);
+	}
+
+	// Capacity planning: auditors missing from the map may take one store.
+	RecommendationValidator(Map<Integer, Integer> auditsLeftByAuditorId) {
+		this.auditsLeftByAuditorId = auditsLeftByAuditorId;
+	}
+
+	@Override
+	public void accept(SolverStoreResult result) {
+		received++;
+		logger.debug("Processing recommendation: Store ID = {}, Auditor ID = {}", result.storeId(), result.assignedAuditorId());
+
+		if (result.storeId() == null || result.assignedAuditorId() == null) {
+			return;
+		}
+		int storeId = result.storeId();
+		int auditorId = result.assignedAuditorId();
+
+		if (auditorIdByStoreId.containsKey(storeId)) {
+			logger.warn("RULE VIOLATION: AI recommended Store ID {} more than once. Ignoring.", storeId);
+			rejected++;
+			return;
+		}
+		int storeCount = storeCountByAuditorId.getOrDefault(auditorId, 0);
+		int allowed = auditsLeftByAuditorId == null ? 1 : auditsLeftByAuditorId.getOrDefault(auditorId, 1);
+		if (storeCount >= allowed) {
+			logger.warn("RULE VIOLATION: AI recommended assigning Auditor ID {} beyond {} store(s). Ignoring.", auditorId, allowed);
+			rejected++;
+			return;
+		}
+		storeCountByAuditorId.put(auditorId, storeCount + 1);
+		auditorIdByStoreId.put(storeId, auditorId);
+	}
+
+	// Accepted store id -> auditor id, in the order the recommendations arrived.
+	Map<Integer, Integer> getAuditorIdByStoreId() {
+		return auditorIdByStoreId;
+	}
+
+	Set<Integer> getAssignedAuditorIds() {
+		return storeCountByAuditorId.keySet();
+	}
+
+	int getReceived() {
+		return received;
+	}
+
+	int getRejected() {
+		return rejected;
+	}
+
+}
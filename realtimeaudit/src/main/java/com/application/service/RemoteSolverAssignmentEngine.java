@@ -0,0 +1,198 @@
+package com.application.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.SolverStoreResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends the snapshot to the Python/OpenAI solver at "python.api.url" + /api/process-assignments.
+ * Calls go through {@link SolverCircuitBreaker}; when the circuit is open, or the call fails or
+ * times out, the snapshot is solved in-process by {@link GreedyAssignmentEngine} instead.
+ * Responses are read off the connection with {@link SolverResponseParser}, which streams data.stores and
+ * skips the echoed input; the body is never buffered as a whole.
+ */
+@Component
+public class RemoteSolverAssignmentEngine implements AssignmentEngine {
+
+	public static final String NAME = "remote";
+
+	private static final Logger logger = LoggerFactory.getLogger(RemoteSolverAssignmentEngine.class);
+
+	private final RestTemplate restTemplate;
+
+	private final SolverCircuitBreaker circuitBreaker;
+
+	private final GreedyAssignmentEngine fallbackEngine;
+
+	private final ObjectMapper objectMapper;
+
+	private final SolverPayloadTracer payloadTracer;
+
+	private final SolverResponseParser responseParser;
+
+	private final AssignmentMetrics metrics;
+
+	@Value("${python.api.url}")
+	private String pythonApiUrl;
+
+	@Value("${python.api.key}")
+	private String pythonApiKey;
+
+	public RemoteSolverAssignmentEngine(RestTemplate restTemplate, SolverCircuitBreaker circuitBreaker,
+			GreedyAssignmentEngine fallbackEngine, ObjectMapper objectMapper, SolverPayloadTracer payloadTracer,
+			SolverResponseParser responseParser, AssignmentMetrics metrics) {
+		this.restTemplate = restTemplate;
+		this.circuitBreaker = circuitBreaker;
+		this.fallbackEngine = fallbackEngine;
+		this.objectMapper = objectMapper;
+		this.payloadTracer = payloadTracer;
+		this.responseParser = responseParser;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+		if (!circuitBreaker.allowRequest()) {
+			logger.warn("Solver circuit is {}; solving {} stores with the local greedy fallback.", circuitBreaker.getState(), request.getStores().size());
+			return fallbackEngine.assign(request);
+		}
+		try {
+			AssignmentResponseDTO response = callSolver(request, responseParser::parse);
+			circuitBreaker.recordSuccess();
+			return response;
+		} catch (RestClientException e) {
+			circuitBreaker.recordFailure();
+			logger.error("Solver call failed ({}); solving {} stores with the local greedy fallback.", e.getMessage(), request.getStores().size());
+			return fallbackEngine.assign(request);
+		} catch (RuntimeException e) {
+			// Not a solver failure as such, but a half-open trial must not stay in flight for good.
+			circuitBreaker.recordFailure();
+			throw e;
+		}
+	}
+
+	// Store results go to the consumer while the body is still arriving. If the body turns out truncated or
+	// malformed, that consumer is dropped and the greedy fallback fills a fresh one.
+	@Override
+	public <C extends Consumer<SolverStoreResult>> C assign(AssignmentRequestDTO request, Supplier<C> storeResults) {
+		if (!circuitBreaker.allowRequest()) {
+			logger.warn("Solver circuit is {}; solving {} stores with the local greedy fallback.", circuitBreaker.getState(), request.getStores().size());
+			return fallbackEngine.assign(request, storeResults);
+		}
+		C consumer = storeResults.get();
+		try {
+			String status = callSolver(request, body -> responseParser.parse(body, consumer));
+			logger.info("Solver returned status {}.", status);
+			circuitBreaker.recordSuccess();
+			return consumer;
+		} catch (RestClientException e) {
+			circuitBreaker.recordFailure();
+			logger.error("Solver call failed ({}); solving {} stores with the local greedy fallback.", e.getMessage(), request.getStores().size());
+			return fallbackEngine.assign(request, storeResults);
+		} catch (RuntimeException e) {
+			circuitBreaker.recordFailure();
+			throw e;
+		}
+	}
+
+	// The payload is serialized once with the shared ObjectMapper. The response is read straight off the
+	// connection; its size is counted on the way through, and its bytes are kept only for a traced call.
+	// RestTemplate rethrows an IOException from the reader as a RestClientException.
+	private <T> T callSolver(AssignmentRequestDTO request, SolverResponseReader<T> reader) {
+		String fullUrl = pythonApiUrl + "/api/process-assignments";
+		byte[] requestBody;
+		try {
+			requestBody = objectMapper.writeValueAsBytes(request);
+		} catch (IOException e) {
+			throw new RestClientException("Could not write the solver payload", e);
+		}
+		boolean dumpPayloads = payloadTracer.shouldDumpPayloads();
+
+		long start = System.nanoTime();
+		return restTemplate.execute(fullUrl, HttpMethod.POST, solverRequest -> {
+			solverRequest.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			solverRequest.getHeaders().set("X-API-Key", pythonApiKey);
+			solverRequest.getBody().write(requestBody);
+		}, response -> {
+			CountingInputStream body = new CountingInputStream(response.getBody(), dumpPayloads ? new ByteArrayOutputStream() : null);
+			try {
+				return reader.read(body);
+			} finally {
+				payloadTracer.trace(fullUrl, requestBody, body.count, body.copy == null ? null : body.copy.toByteArray(),
+						(System.nanoTime() - start) / 1_000_000);
+				metrics.solverPayload(requestBody.length, (int) body.count);
+			}
+		});
+	}
+
+	@FunctionalInterface
+	private interface SolverResponseReader<T> {
+		T read(InputStream body) throws IOException;
+	}
+
+	// Counts the bytes read through it, and copies them when given somewhere to put them.
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private final ByteArrayOutputStream copy;
+
+		private long count;
+
+		CountingInputStream(InputStream in, ByteArrayOutputStream copy) {
+			super(in);
+			this.copy = copy;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				count++;
+				if (copy != null) {
+					copy.write(b);
+				}
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int n = super.read(buffer, offset, length);
+			if (n > 0) {
+				count += n;
+				if (copy != null) {
+					copy.write(buffer, offset, n);
+				}
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			// Skipped bytes would go uncounted and uncopied; read them instead.
+			return n <= 0 ? 0 : Math.max(0, read(new byte[(int) Math.min(n, 8192)]));
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.application.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Names, invalidation and statistics of the cached available-auditor and open-store sets
+ * (filled by the @Cacheable reads in AuditorServiceImpl and StoreServiceImpl).
+ * Evictions wait for the surrounding transaction to commit, so a concurrent read can never
+ * put the pre-commit state back into the cache.
+ */
+@Component
+public class SnapshotCache {
+
+	public static final String AVAILABLE_AUDITORS = "availableAuditors";
+
+	public static final String OPEN_STORES = "openStores";
+
+	private static final Logger logger = LoggerFactory.getLogger(SnapshotCache.class);
+
+	private final CacheManager cacheManager;
+
+	public SnapshotCache(CacheManager cacheManager) {
+		this.cacheManager = cacheManager;
+	}
+
+	public void evictAvailableAuditors() {
+		evictAfterCommit(AVAILABLE_AUDITORS);
+	}
+
+	public void evictOpenStores() {
+		evictAfterCommit(OPEN_STORES);
+	}
+
+	// Hits, misses and evictions per cache since startup.
+	public Map<String, Map<String, Object>> stats() {
+		Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+		for (String name : new String[] { AVAILABLE_AUDITORS, OPEN_STORES }) {
+			Cache cache = cacheManager.getCache(name);
+			if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+				CacheStats cacheStats = nativeCache.stats();
+				Map<String, Object> entry = new LinkedHashMap<>();
+				entry.put("hits", cacheStats.hitCount());
+				entry.put("misses", cacheStats.missCount());
+				entry.put("hitRate", cacheStats.hitRate());
+				entry.put("evictions", cacheStats.evictionCount());
+				entry.put("cached", nativeCache.estimatedSize() > 0);
+				stats.put(name, entry);
+			}
+		}
+		return stats;
+	}
+
+	private void evictAfterCommit(String name) {
+		Cache cache = cacheManager.getCache(name);
+		if (cache == null) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cache.clear();
+					logger.debug("Cleared the {} cache after commit.", name);
+				}
+			});
+		} else {
+			cache.clear();
+			logger.debug("Cleared the {} cache.", name);
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.application.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker around the Python solver. After "failure-threshold" consecutive failures
+ * the circuit opens and calls are refused for "open-duration-ms"; afterwards a single trial
+ * call is let through (half-open) and its outcome closes or re-opens the circuit.
+ */
+@Component
+public class SolverCircuitBreaker {
+
+	public enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(SolverCircuitBreaker.class);
+
+	private final int failureThreshold;
+	private final long openDurationMs;
+
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicLong openedAt = new AtomicLong(-1);
+	private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+	public SolverCircuitBreaker(@Value("${solver.breaker.failure-threshold:3}") int failureThreshold,
+			@Value("${solver.breaker.open-duration-ms:30000}") long openDurationMs) {
+		this.failureThreshold = failureThreshold;
+		this.openDurationMs = openDurationMs;
+	}
+
+	public State getState() {
+		long opened = openedAt.get();
+		if (opened < 0) {
+			return State.CLOSED;
+		}
+		return System.currentTimeMillis() - opened >= openDurationMs ? State.HALF_OPEN : State.OPEN;
+	}
+
+	// True when a call may go to the solver now.
+	public boolean allowRequest() {
+		switch (getState()) {
+		case CLOSED:
+			return true;
+		case HALF_OPEN:
+			return trialInFlight.compareAndSet(false, true);
+		default:
+			return false;
+		}
+	}
+
+	public void recordSuccess() {
+		consecutiveFailures.set(0);
+		if (openedAt.getAndSet(-1) >= 0) {
+			logger.info("Solver circuit closed again after a successful trial call.");
+		}
+		trialInFlight.set(false);
+	}
+
+	public void recordFailure() {
+		int failures = consecutiveFailures.incrementAndGet();
+		if (trialInFlight.getAndSet(false) || failures >= failureThreshold) {
+			openedAt.set(System.currentTimeMillis());
+			logger.warn("Solver circuit opened after {} consecutive failures; using the local fallback for {} ms.", failures, openDurationMs);
+		}
+	}
+
+}
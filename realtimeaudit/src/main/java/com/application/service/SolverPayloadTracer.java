@@ -0,0 +1,79 @@
+package com.application.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tracing for solver round trips. Sizes and timings are always logged; the full request and
+ * response bodies are only written for a sampled fraction of calls ("solver.trace.sample-rate")
+ * or when the incoming HTTP request carries the debug header, and that write happens on a
+ * background thread so large payloads never slow the calling request down.
+ */
+@Component
+public class SolverPayloadTracer {
+
+	public static final String DEBUG_HEADER = "X-Debug-Trace";
+
+	private static final Logger logger = LoggerFactory.getLogger(SolverPayloadTracer.class);
+
+	// Separate logger name so payload dumps can be routed or silenced on their own.
+	private static final Logger payloadLogger = LoggerFactory.getLogger("solver.payload");
+
+	private final double sampleRate;
+
+	// One writer thread; when it falls behind, further dumps are dropped rather than queued without bound.
+	private final ThreadPoolExecutor payloadWriter = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(100), runnable -> {
+				Thread thread = new Thread(runnable, "solver-payload-trace");
+				thread.setDaemon(true);
+				return thread;
+			}, new ThreadPoolExecutor.DiscardPolicy());
+
+	public SolverPayloadTracer(@Value("${solver.trace.sample-rate:0.0}") double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	/**
+	 * Logs the call's sizes and timing. The response is streamed past the caller, so its body is
+	 * only captured for calls that {@link #shouldDumpPayloads()}; responseBody is null otherwise.
+	 */
+	public void trace(String url, byte[] requestBody, long responseSize, byte[] responseBody, long elapsedMs) {
+		logger.info("Solver call to {} took {} ms (request {} bytes, response {} bytes).", url, elapsedMs, requestBody.length, responseSize);
+
+		if (responseBody != null) {
+			payloadWriter.execute(() -> {
+				payloadLogger.info("Solver request: {}", new String(requestBody, StandardCharsets.UTF_8));
+				payloadLogger.info("Solver response: {}", responseBody.length == 0 ? "<empty>" : new String(responseBody, StandardCharsets.UTF_8));
+			});
+		}
+	}
+
+	// Decided before the call, on the thread of the incoming HTTP request.
+	public boolean shouldDumpPayloads() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes servletAttributes
+				&& Boolean.parseBoolean(servletAttributes.getRequest().getHeader(DEBUG_HEADER))) {
+			return true;
+		}
+		return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		payloadWriter.shutdown();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.ResponseData;
+import com.application.DTO.SolverDisruptionResult;
+import com.application.DTO.SolverStoreResult;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Token-level reader for solver responses. Entries of data.stores are bound one by one to
+ * {@link SolverStoreResult} and handed to a consumer as soon as they are read; data.auditors,
+ * which only echoes the request back with the "raw" input attached, is skipped without binding.
+ * The body is read straight from the stream it arrives on; it is never held in memory as a whole.
+ */
+@Component
+public class SolverResponseParser {
+
+	private final ObjectMapper objectMapper;
+
+	public SolverResponseParser(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Streams every store recommendation into the consumer.
+	 *
+	 * @return the top-level "status" field, or null when absent
+	 */
+	public String parse(InputStream body, Consumer<SolverStoreResult> storeResults) throws IOException {
+		return parse(body, storeResults, null);
+	}
+
+	// Non-streaming variant for callers that want a complete response object.
+	public AssignmentResponseDTO parse(InputStream body) throws IOException {
+		List<SolverStoreResult> stores = new ArrayList<>();
+		List<SolverDisruptionResult> disruptions = new ArrayList<>();
+		String status = parse(body, stores::add, disruptions::add);
+		return new AssignmentResponseDTO(status, null, new ResponseData(new ArrayList<>(), stores, disruptions));
+	}
+
+	private String parse(InputStream body, Consumer<SolverStoreResult> storeResults,
+			Consumer<SolverDisruptionResult> disruptionResults) throws IOException {
+		String status = null;
+		try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Solver response is not a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				parser.nextToken();
+				if ("status".equals(field)) {
+					status = parser.getValueAsString();
+				} else if ("data".equals(field) && parser.currentToken() == JsonToken.START_OBJECT) {
+					readData(parser, storeResults, disruptionResults);
+				} else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return status;
+	}
+
+	private void readData(JsonParser parser, Consumer<SolverStoreResult> storeResults,
+			Consumer<SolverDisruptionResult> disruptionResults) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+			if ("stores".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					storeResults.accept(objectMapper.readValue(parser, SolverStoreResult.class));
+				}
+			} else if ("disruptions".equals(field) && value == JsonToken.START_ARRAY && disruptionResults != null) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					disruptionResults.accept(objectMapper.readValue(parser, SolverDisruptionResult.class));
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+}
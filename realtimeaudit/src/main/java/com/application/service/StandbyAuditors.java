@@ -0,0 +1,334 @@
+package com.application.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditPlanRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Ranked standby auditors for every planned store: the "plan.standby.count" nearest available
+ * auditors that hold no plan, nearest first. When a plan's auditor drops out, reassignment promotes
+ * the first standby that is still free instead of waiting for the solver. The lists are rebuilt
+ * after every plan run and patched as auditors change availability or take over a store. All of
+ * that runs on one "standby-refresh" thread, and every list is replaced, never modified, so readers
+ * need no locking; a list may lag a change by that thread's backlog, which is why promotion checks
+ * its candidates again. Changes that arrive while a patch is queued are folded into it, so a burst
+ * of status updates costs one pass over the lists, not one per update.
+ */
+@Component
+public class StandbyAuditors {
+
+	private static final Logger logger = LoggerFactory.getLogger(StandbyAuditors.class);
+
+	// Availability changes of more auditors than this re-rank every store instead of patching the lists.
+	private static final int PATCH_LIMIT = 50;
+
+	private static final int ID_CHUNK_SIZE = 1000;
+
+	// Pending change of an auditor that left AVAILABLE or took over a store.
+	private static final double[] TAKEN = new double[0];
+
+	private final AuditorSpatialIndex auditorSpatialIndex;
+
+	private final AuditPlanRepository auditPlanRepository;
+
+	private final boolean enabled;
+
+	private final int standbyCount;
+
+	private final ExecutorService refresher;
+
+	private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+	private final AtomicBoolean patchQueued = new AtomicBoolean();
+
+	// Auditor id -> TAKEN, or the home {lat, lon} of an auditor that became available; the latest change wins.
+	private final ConcurrentMap<Integer, double[]> pendingChanges = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Integer, Standbys> standbysByStoreId = new ConcurrentHashMap<>();
+
+	// A planned store's location and its standbys, nearest first.
+	private record Standbys(double lat, double lon, int[] auditorIds, double[] distanceKm) {
+
+		boolean containsAny(Set<Integer> ids) {
+			for (int auditorId : auditorIds) {
+				if (ids.contains(auditorId)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		// The list with the auditor ranked in, if it is closer than the last standby or the list is short.
+		Standbys offer(int auditorId, double km, int limit) {
+			int count = auditorIds.length;
+			for (int id : auditorIds) {
+				if (id == auditorId) {
+					return this;
+				}
+			}
+			if (count == limit && km >= distanceKm[count - 1]) {
+				return this;
+			}
+			int size = Math.min(limit, count + 1);
+			int[] ids = new int[size];
+			double[] kms = new double[size];
+			boolean placed = false;
+			for (int i = 0, j = 0; i < size; i++) {
+				if (!placed && (j == count || km < distanceKm[j])) {
+					ids[i] = auditorId;
+					kms[i] = km;
+					placed = true;
+				} else {
+					ids[i] = auditorIds[j];
+					kms[i] = distanceKm[j];
+					j++;
+				}
+			}
+			return new Standbys(lat, lon, ids, kms);
+		}
+	}
+
+	public StandbyAuditors(AuditorSpatialIndex auditorSpatialIndex, AuditPlanRepository auditPlanRepository,
+			@Value("${plan.standby.enabled:true}") boolean enabled,
+			@Value("${plan.standby.count:5}") int standbyCount) {
+		this.auditorSpatialIndex = auditorSpatialIndex;
+		this.auditPlanRepository = auditPlanRepository;
+		this.enabled = enabled;
+		this.standbyCount = Math.max(1, standbyCount);
+		this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "standby-refresh");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() {
+		refresher.shutdownNow();
+	}
+
+	// Standby auditor ids of a planned store, nearest first; empty when it has none.
+	public List<Integer> get(int storeId) {
+		Standbys standbys = standbysByStoreId.get(storeId);
+		if (standbys == null) {
+			return List.of();
+		}
+		List<Integer> ids = new ArrayList<>(standbys.auditorIds().length);
+		for (int auditorId : standbys.auditorIds()) {
+			ids.add(auditorId);
+		}
+		return ids;
+	}
+
+	public int size() {
+		return standbysByStoreId.size();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuildLater();
+	}
+
+	// Re-ranks every planned store in the background; requests made while one is queued are folded into it.
+	public void rebuildLater() {
+		if (enabled && rebuildQueued.compareAndSet(false, true)) {
+			submit(() -> {
+				rebuildQueued.set(false);
+				rebuild();
+			});
+		}
+	}
+
+	// Auditors that left AVAILABLE or took over a store: the stores they stood by for are ranked again without them.
+	public void auditorsTaken(Collection<Integer> auditorIds) {
+		if (!enabled || auditorIds.isEmpty()) {
+			return;
+		}
+		auditorIds.forEach(auditorId -> pendingChanges.put(auditorId, TAKEN));
+		patchLater();
+	}
+
+	// Auditors that became AVAILABLE, or free, join the lists of the stores they are closer to than the last standby.
+	public void auditorsAvailable(Collection<Auditors> auditors) {
+		if (!enabled || auditors.isEmpty()) {
+			return;
+		}
+		if (auditors.size() > PATCH_LIMIT) {
+			rebuildLater();
+			return;
+		}
+		// Read here: the caller's entities may be lazy proxies that cannot load on the refresh thread.
+		boolean joined = false;
+		for (Auditors auditor : auditors) {
+			if (auditor.getAvailabilityStatus() == Auditors.AvailabilityStatus.AVAILABLE) {
+				pendingChanges.put(auditor.getId(), new double[] { auditor.getHomeLat(), auditor.getHomeLon() });
+				joined = true;
+			}
+		}
+		if (joined) {
+			patchLater();
+		}
+	}
+
+	// Stores that lost their plan no longer need standbys; dropped on the refresh thread so a queued patch cannot put them back.
+	public void storesUnplanned(Collection<Integer> storeIds) {
+		if (!enabled || storeIds.isEmpty()) {
+			return;
+		}
+		List<Integer> ids = List.copyOf(storeIds);
+		submit(() -> standbysByStoreId.keySet().removeAll(ids));
+	}
+
+	private void patchLater() {
+		if (patchQueued.compareAndSet(false, true)) {
+			submit(() -> {
+				patchQueued.set(false);
+				patch();
+			});
+		}
+	}
+
+	// Applies every pending change in one pass: taken auditors leave the lists they were on, then the
+	// available ones are offered to every list.
+	private void patch() {
+		Set<Integer> taken = new HashSet<>();
+		List<double[]> joining = new ArrayList<>();
+		for (Integer auditorId : pendingChanges.keySet()) {
+			double[] change = pendingChanges.remove(auditorId);
+			if (change == TAKEN) {
+				taken.add(auditorId);
+			} else if (change != null) {
+				joining.add(new double[] { auditorId, change[0], change[1] });
+			}
+		}
+		if (!taken.isEmpty()) {
+			Map<Integer, double[]> locations = new HashMap<>();
+			standbysByStoreId.forEach((storeId, standbys) -> {
+				if (standbys.containsAny(taken)) {
+					locations.put(storeId, new double[] { standbys.lat(), standbys.lon() });
+				}
+			});
+			if (!locations.isEmpty()) {
+				standbysByStoreId.putAll(rankUnplanned(locations, taken));
+			}
+		}
+		if (!joining.isEmpty()) {
+			standbysByStoreId.replaceAll((storeId, standbys) -> {
+				Standbys offered = standbys;
+				for (double[] auditor : joining) {
+					double km = GeoUtils.haversineDistance(standbys.lat(), standbys.lon(), auditor[1], auditor[2]);
+					offered = offered.offer((int) auditor[0], km, standbyCount);
+				}
+				return offered;
+			});
+		}
+	}
+
+	private void rebuild() {
+		long start = System.nanoTime();
+		Map<Integer, double[]> locations = new HashMap<>();
+		for (Store store : auditPlanRepository.findPlannedStores()) {
+			locations.put(store.getId(), new double[] { store.getLocationLat(), store.getLocationLon() });
+		}
+		Map<Integer, Standbys> ranked = rank(locations, new HashSet<>(auditPlanRepository.findPlannedAuditorIds()));
+		standbysByStoreId.keySet().retainAll(ranked.keySet());
+		standbysByStoreId.putAll(ranked);
+		logger.info("Standby auditors ranked for {} planned stores in {} ms.", ranked.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+
+	// Nearest available auditors for each store location, leaving out the skipped ones.
+	private Map<Integer, Standbys> rank(Map<Integer, double[]> locations, Set<Integer> skipped) {
+		Map<Integer, Standbys> ranked = new HashMap<>();
+		locations.forEach((storeId, location) -> ranked.put(storeId,
+				standbys(location, auditorSpatialIndex.findNearestCandidates(location[0], location[1], standbyCount, skipped))));
+		return ranked;
+	}
+
+	// Same as rank, leaving out any auditor that holds a plan. Only the auditors near these locations are
+	// looked up, twice as many as needed; locations crowded by planned auditors look further.
+	private Map<Integer, Standbys> rankUnplanned(Map<Integer, double[]> locations, Set<Integer> excluded) {
+		Set<Integer> skipped = new HashSet<>(excluded);
+		Map<Integer, Standbys> ranked = new HashMap<>();
+		Map<Integer, double[]> remaining = locations;
+		for (int k = standbyCount * 2; !remaining.isEmpty(); k *= 2) {
+			Map<Integer, List<AuditorSpatialIndex.Candidate>> nearestByStoreId = new HashMap<>();
+			Set<Integer> candidateIds = new HashSet<>();
+			for (Map.Entry<Integer, double[]> entry : remaining.entrySet()) {
+				double[] location = entry.getValue();
+				List<AuditorSpatialIndex.Candidate> nearest = auditorSpatialIndex.findNearestCandidates(location[0], location[1], k, skipped);
+				nearestByStoreId.put(entry.getKey(), nearest);
+				nearest.forEach(candidate -> candidateIds.add(candidate.auditorId()));
+			}
+			Set<Integer> planned = findPlannedAuditorIds(candidateIds);
+			skipped.addAll(planned);
+			Map<Integer, double[]> further = new HashMap<>();
+			for (Map.Entry<Integer, List<AuditorSpatialIndex.Candidate>> entry : nearestByStoreId.entrySet()) {
+				List<AuditorSpatialIndex.Candidate> free = entry.getValue().stream()
+						.filter(candidate -> !planned.contains(candidate.auditorId()))
+						.limit(standbyCount)
+						.toList();
+				// A short list is final once the index had no more auditors to offer.
+				if (free.size() == standbyCount || entry.getValue().size() < k) {
+					ranked.put(entry.getKey(), standbys(remaining.get(entry.getKey()), free));
+				} else {
+					further.put(entry.getKey(), remaining.get(entry.getKey()));
+				}
+			}
+			remaining = further;
+		}
+		return ranked;
+	}
+
+	private static Standbys standbys(double[] location, List<AuditorSpatialIndex.Candidate> nearest) {
+		int[] ids = new int[nearest.size()];
+		double[] kms = new double[nearest.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = nearest.get(i).auditorId();
+			kms[i] = nearest.get(i).distanceKm();
+		}
+		return new Standbys(location[0], location[1], ids, kms);
+	}
+
+	// Auditors among these that hold a plan, in IN-clause sized chunks.
+	private Set<Integer> findPlannedAuditorIds(Collection<Integer> auditorIds) {
+		List<Integer> ids = new ArrayList<>(auditorIds);
+		Set<Integer> planned = new HashSet<>();
+		for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+			planned.addAll(auditPlanRepository.findPlannedAuditorIdsIn(ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE))));
+		}
+		return planned;
+	}
+
+	private void submit(Runnable task) {
+		refresher.execute(() -> {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				logger.warn("Standby auditor refresh failed: {}", e.toString());
+			}
+		});
+	}
+
+}
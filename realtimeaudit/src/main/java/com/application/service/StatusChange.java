@@ -0,0 +1,17 @@
+package com.application.service;
+
+/**
+ * An auditor availability or store status change, as published to the {@link StatusChangePipeline}.
+ * Changes to the same entity within one coalescing window fold into one: the status before the
+ * first of them and the status after the last.
+ */
+public sealed interface StatusChange permits AuditorStatusChange, StoreStatusChange {
+
+	// Changes with the same key concern the same entity.
+	String key();
+
+	StatusChange followedBy(StatusChange later);
+
+	boolean isNetChange();
+
+}
@@ -0,0 +1,174 @@
+package com.application.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bounded in-process buffer between the status update endpoints and the work they trigger
+ * (reassigning a disrupted auditor's stores, dropping a closed store's plan). Committed changes are
+ * folded per entity into a latest-wins map as they arrive; one consumer thread waits for the first,
+ * lets "status.pipeline.window-ms" pass, takes the whole map and publishes only the net changes as
+ * application events, so an auditor flipping AVAILABLE -> UNAVAILABLE -> AVAILABLE costs no solver
+ * call at all. Store changes are published one by one; the auditor changes of a window go out as one
+ * {@link AuditorStatusChanges} and are reassigned in a single pass.
+ * The map holds at most "status.pipeline.queue-capacity" entities, counting those whose transaction
+ * has not committed yet. A change for an entity already held folds in; any other change is refused
+ * with a {@link StatusChangeRejectedException} before its transaction commits, so the caller's
+ * update rolls back instead of being saved without its follow-up work.
+ */
+@Component
+public class StatusChangePipeline {
+
+	private static final Logger logger = LoggerFactory.getLogger(StatusChangePipeline.class);
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	private final int capacity;
+
+	private final Duration window;
+
+	private final Thread consumer;
+
+	private final Object lock = new Object();
+
+	// Committed changes not yet taken by the consumer, folded per key. Guarded by lock.
+	private Map<String, StatusChange> pending = new LinkedHashMap<>();
+
+	// Keys of admitted changes whose transaction has not completed, with how many are open. Guarded by lock.
+	private final Map<String, Integer> admitted = new HashMap<>();
+
+	public StatusChangePipeline(ApplicationEventPublisher eventPublisher,
+			@Value("${status.pipeline.queue-capacity:1000}") int queueCapacity,
+			@Value("${status.pipeline.window-ms:2000}") long windowMs) {
+		this.eventPublisher = eventPublisher;
+		this.capacity = Math.max(1, queueCapacity);
+		this.window = Duration.ofMillis(windowMs);
+		this.consumer = new Thread(this::consume, "status-changes");
+		this.consumer.setDaemon(true);
+	}
+
+	@PostConstruct
+	public void start() {
+		consumer.start();
+	}
+
+	// Anything still pending at shutdown is handled before the consumer exits.
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		consumer.interrupt();
+		consumer.join(TimeUnit.SECONDS.toMillis(30));
+	}
+
+	/**
+	 * Admits the change at once and hands it to the consumer once the surrounding transaction (if
+	 * any) has committed, so the consumer never reads the state from before it. Call it before any
+	 * other side effect of the update: it throws when the pipeline is full.
+	 *
+	 * @throws StatusChangeRejectedException when the change concerns a new entity and the pipeline is full
+	 */
+	public void publish(StatusChange change) {
+		if (!change.isNetChange()) {
+			return;
+		}
+		String key = change.key();
+		synchronized (lock) {
+			if (!pending.containsKey(key) && !admitted.containsKey(key) && pending.size() + admitted.size() >= capacity) {
+				throw new StatusChangeRejectedException("Status change pipeline is full (" + capacity + " entities waiting); rejected " + key + ".");
+			}
+			admitted.merge(key, 1, Integer::sum);
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					complete(change, status == STATUS_COMMITTED);
+				}
+			});
+		} else {
+			complete(change, true);
+		}
+	}
+
+	public int getQueuedCount() {
+		synchronized (lock) {
+			return pending.size();
+		}
+	}
+
+	private void complete(StatusChange change, boolean committed) {
+		synchronized (lock) {
+			admitted.computeIfPresent(change.key(), (key, open) -> open == 1 ? null : open - 1);
+			if (committed) {
+				pending.merge(change.key(), change, StatusChange::followedBy);
+				lock.notifyAll();
+			}
+		}
+	}
+
+	private void consume() {
+		boolean running = true;
+		while (running) {
+			try {
+				synchronized (lock) {
+					while (pending.isEmpty()) {
+						lock.wait();
+					}
+				}
+				// Changes arriving meanwhile fold into the map the consumer is about to take.
+				Thread.sleep(window.toMillis());
+			} catch (InterruptedException e) {
+				running = false;
+			}
+			Map<String, StatusChange> batch;
+			synchronized (lock) {
+				batch = pending;
+				pending = new LinkedHashMap<>();
+			}
+			if (batch.isEmpty()) {
+				continue;
+			}
+			List<StatusChange> netChanges = batch.values().stream().filter(StatusChange::isNetChange).toList();
+			logger.info("Coalesced status changes of {} entities into {} net changes.", batch.size(), netChanges.size());
+			dispatch(netChanges);
+		}
+	}
+
+	private void dispatch(List<StatusChange> changes) {
+		List<AuditorStatusChange> auditorChanges = new ArrayList<>();
+		for (StatusChange change : changes) {
+			if (change instanceof AuditorStatusChange auditorChange) {
+				auditorChanges.add(auditorChange);
+			} else {
+				publishEvent(change);
+			}
+		}
+		if (!auditorChanges.isEmpty()) {
+			publishEvent(new AuditorStatusChanges(auditorChanges));
+		}
+	}
+
+	private void publishEvent(Object event) {
+		try {
+			eventPublisher.publishEvent(event);
+		} catch (RuntimeException e) {
+			logger.error("Handling {} failed.", event, e);
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.application.service;
+
+/**
+ * Thrown by {@link StatusChangePipeline#publish} when the pipeline already holds as many entities
+ * as it may; the status update that published the change should roll back and be retried later.
+ */
+public class StatusChangeRejectedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public StatusChangeRejectedException(String message) {
+		super(message);
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +16,6 @@ public interface StoreService {
 	List<Store> findByStoreStatus();
 	Store updateStoreStatus(int id, StoreStatus newStatus);
 	Optional<Store> findStoreById(int targetStoreId);
+	long exportStores(OutputStream out) throws IOException;
 	
 }
@@ -1,13 +1,19 @@
 package com.application.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.application.entities.Auditors;
 import com.application.entities.Store;
@@ -20,18 +26,33 @@ public class StoreServiceImpl implements StoreService {
 	
 	private final StoreRepository storeRepository;
 	private final AuditPlanRepository auditPlanRepository;
+	private final NdjsonWriter ndjsonWriter;
+	private final SnapshotCache snapshotCache;
+	private final DistanceMatrix distanceMatrix;
+	private final StatusChangePipeline statusChangePipeline;
+	private final StandbyAuditors standbyAuditors;
 	
 	private static final Logger logger = LoggerFactory.getLogger(AuditPlanServiceImpl.class);
 	
 	@Autowired
-	public StoreServiceImpl(StoreRepository storeRepository, AuditPlanRepository auditPlanRepository) {
+	public StoreServiceImpl(StoreRepository storeRepository, AuditPlanRepository auditPlanRepository, NdjsonWriter ndjsonWriter,
+			SnapshotCache snapshotCache, DistanceMatrix distanceMatrix, StatusChangePipeline statusChangePipeline,
+			StandbyAuditors standbyAuditors) {
 		this.storeRepository = storeRepository;
 		this.auditPlanRepository = auditPlanRepository;
+		this.ndjsonWriter = ndjsonWriter;
+		this.snapshotCache = snapshotCache;
+		this.distanceMatrix = distanceMatrix;
+		this.statusChangePipeline = statusChangePipeline;
+		this.standbyAuditors = standbyAuditors;
 	}
 	
 	@Override
 	public Store saveStore(Store store) {
-		return storeRepository.save(store);
+		Store savedStore = storeRepository.save(store);
+		distanceMatrix.updateStore(savedStore);
+		snapshotCache.evictOpenStores();
+		return savedStore;
 	}
 
 	@Override
@@ -39,11 +60,15 @@ public class StoreServiceImpl implements StoreService {
 		return storeRepository.findAll();
 	}
 
+	// Served from the openStores cache until a store is saved or changes status.
 	@Override
+	@Cacheable(SnapshotCache.OPEN_STORES)
 	public List<Store> findByStoreStatus() {
-		return storeRepository.findByStoreStatus(StoreStatus.OPEN);
+		return List.copyOf(storeRepository.findByStoreStatus(StoreStatus.OPEN));
 	}
 
+	// Persists the new status right away; dropping the plan of a closed store happens on the
+	// status-change consumer, once per net change (see onStoreStatusChange).
 	@Override
     @Transactional // Ensures all database operations succeed or fail together
     public Store updateStoreStatus(int storeId, Store.StoreStatus newStatus) {
@@ -52,37 +77,74 @@ public class StoreServiceImpl implements StoreService {
                 .orElseThrow(() -> new RuntimeException("Store not found with ID: " + storeId));
 
         // 2. Set the new status and save the store.
+        Store.StoreStatus oldStatus = storeToUpdate.getStoreStatus();
         storeToUpdate.setStoreStatus(newStatus);
         Store updatedStore = storeRepository.save(storeToUpdate);
+
+        // 3. Queued after commit; closing and reopening within one window leaves the plan alone.
+        //    A full pipeline throws here and the update rolls back.
+        statusChangePipeline.publish(new StoreStatusChange(storeId, oldStatus, newStatus));
+        distanceMatrix.updateStore(updatedStore);
+        if (oldStatus != newStatus) {
+            // Cleared once this transaction commits.
+            snapshotCache.evictOpenStores();
+        }
         logger.info("Successfully updated status for Store ID {} to {}", storeId, newStatus);
+        return updatedStore;
+    }
 
+	// Net status change of one store over a coalescing window of the StatusChangePipeline.
+	@EventListener
+    @Transactional
+    public void onStoreStatusChange(StoreStatusChange change) {
         // --- CORE LOGIC: Un-assign if the store is now CLOSED ---
-        if (newStatus == Store.StoreStatus.CLOSED) {
-            logger.info("Store ID {} was closed. Checking for an existing audit plan to remove...", storeId);
+        if (change.to() != Store.StoreStatus.CLOSED) {
+            return;
+        }
+        int storeId = change.storeId();
+        Store store = storeRepository.findById(storeId).orElse(null);
+        if (store == null || store.getStoreStatus() != Store.StoreStatus.CLOSED) {
+            logger.info("Store ID {} is open again or gone. Keeping its audit plan.", storeId);
+            return;
+        }
+        logger.info("Store ID {} was closed. Checking for an existing audit plan to remove...", storeId);
+            
+        // Find the associated audit plan.
+        auditPlanRepository.findByStore(store).ifPresent(auditPlan -> {
+            // ifPresent executes this block only if an audit plan was found.
             
-            // 3. Find the associated audit plan.
-            auditPlanRepository.findByStore(updatedStore).ifPresent(auditPlan -> {
-                // ifPresent executes this block only if an audit plan was found.
-                
-                Auditors assignedAuditor = auditPlan.getAuditors();
+            Auditors assignedAuditor = auditPlan.getAuditors();
+            // The auditor is free again; the next incremental plan has to see it.
+            assignedAuditor.markChanged();
 
-                logger.info("Found AuditPlan ID {}. Un-assigning from Auditor ID {}.", auditPlan.getId(), assignedAuditor.getId());
+            logger.info("Found AuditPlan ID {}. Un-assigning from Auditor ID {}.", auditPlan.getId(), assignedAuditor.getId());
 
-                
+            // Delete the audit plan entry.
+            auditPlanRepository.delete(auditPlan);
+            logger.info("Successfully deleted AuditPlan ID {}.", auditPlan.getId());
 
-                // 5. Delete the audit plan entry.
-                auditPlanRepository.delete(auditPlan);
-                logger.info("Successfully deleted AuditPlan ID {}.", auditPlan.getId());
+            // Once committed, the auditor may stand by for other stores and the closed store needs no standbys.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    standbyAuditors.auditorsAvailable(List.of(assignedAuditor));
+                    standbyAuditors.storesUnplanned(List.of(storeId));
+                }
             });
-        }
-
-        return updatedStore;
+        });
     }
 
 	@Override
 	public Optional<Store> findStoreById(int targetStoreId) {
 		return storeRepository.findById(targetStoreId);
 	}
+
+	// Streams every store as NDJSON straight from a database cursor.
+	@Override
+	@Transactional(readOnly = true)
+	public long exportStores(OutputStream out) throws IOException {
+		return ndjsonWriter.write(storeRepository.streamAll(), out, true);
+	}
 	
 	
 
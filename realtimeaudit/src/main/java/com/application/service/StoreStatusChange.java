@@ -0,0 +1,22 @@
+package com.application.service;
+
+import com.application.entities.Store.StoreStatus;
+
+public record StoreStatusChange(int storeId, StoreStatus from, StoreStatus to) implements StatusChange {
+
+	@Override
+	public String key() {
+		return "store:" + storeId;
+	}
+
+	@Override
+	public StatusChange followedBy(StatusChange later) {
+		return new StoreStatusChange(storeId, from, ((StoreStatusChange) later).to());
+	}
+
+	@Override
+	public boolean isNetChange() {
+		return from != to;
+	}
+
+}
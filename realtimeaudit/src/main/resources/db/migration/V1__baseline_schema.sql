@@ -0,0 +1,43 @@
+-- Baseline: the schema as Hibernate (ddl-auto=update) created it. Every statement is guarded, so on
+-- databases that already have the tables (spring.flyway.baseline-on-migrate, version 0) it only adds
+-- the updated_at columns where they are missing and moves audit_plan_seq past the existing plan ids.
+
+CREATE TABLE IF NOT EXISTS auditors (
+    auditor_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    home_lat DOUBLE PRECISION NOT NULL,
+    home_lon DOUBLE PRECISION NOT NULL,
+    workload_capacity_hours DOUBLE PRECISION NOT NULL,
+    current_assigned_hours DOUBLE PRECISION NOT NULL,
+    availability_status VARCHAR(255)
+        CHECK (availability_status IN ('AVAILABLE', 'UNAVAILABLE', 'ON_LEAVE')),
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS store (
+    store_id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    address VARCHAR(255),
+    location_lat DOUBLE PRECISION NOT NULL,
+    location_lon DOUBLE PRECISION NOT NULL,
+    store_status VARCHAR(255) NOT NULL CHECK (store_status IN ('OPEN', 'CLOSED')),
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS audit_plan (
+    audit_id INTEGER PRIMARY KEY,
+    auditor_id INTEGER NOT NULL REFERENCES auditors (auditor_id),
+    store_id INTEGER NOT NULL REFERENCES store (store_id),
+    audit_priority VARCHAR(255) NOT NULL CHECK (audit_priority IN ('HIGH', 'MEDIUM', 'LOW')),
+    audit_status VARCHAR(255) NOT NULL
+        CHECK (audit_status IN ('PLANNED', 'IN_PROGRESS', 'DISRUPTED', 'REASSIGNED', 'COMPLETED'))
+);
+
+-- Databases created before change tracking have no updated_at yet.
+ALTER TABLE auditors ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+ALTER TABLE store ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+-- Pooled audit_plan ids (allocationSize = 50): the next value must be MAX(audit_id) + 50.
+CREATE SEQUENCE IF NOT EXISTS audit_plan_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('audit_plan_seq', COALESCE((SELECT MAX(audit_id) FROM audit_plan), 0) + 50, false)
+WHERE NOT EXISTS (SELECT 1 FROM audit_plan_seq WHERE is_called);
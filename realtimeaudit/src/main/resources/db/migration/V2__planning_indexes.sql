@@ -0,0 +1,19 @@
+-- Indexes behind the planning queries (NOT EXISTS anti-joins against audit_plan).
+
+-- A store is planned at most once; the unique index also serves the store side of the anti-join
+-- and findByStoreInOrderById. Fails if existing data already has duplicates.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_audit_plan_store_id ON audit_plan (store_id);
+
+-- Auditor side of the anti-join and findByAuditors.
+CREATE INDEX IF NOT EXISTS idx_audit_plan_auditor_id ON audit_plan (auditor_id);
+
+-- Only AVAILABLE auditors and OPEN stores are ever planned; the partial indexes stay small
+-- however many closed stores or unavailable auditors pile up.
+CREATE INDEX IF NOT EXISTS idx_auditors_available ON auditors (auditor_id)
+    WHERE availability_status = 'AVAILABLE';
+CREATE INDEX IF NOT EXISTS idx_store_open ON store (store_id)
+    WHERE store_status = 'OPEN';
+
+-- Change tracking for incremental planning (already present where Hibernate created them).
+CREATE INDEX IF NOT EXISTS idx_auditors_updated_at ON auditors (updated_at);
+CREATE INDEX IF NOT EXISTS idx_store_updated_at ON store (updated_at);
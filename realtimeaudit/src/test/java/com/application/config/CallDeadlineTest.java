@@ -0,0 +1,115 @@
+package com.application.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The solver RestTemplate from AppConfig against a loopback server that answers slowly: every single
+ * wait stays under the read timeout, yet the call as a whole is cut off at its deadline.
+ */
+class CallDeadlineTest {
+
+	private static final long READ_TIMEOUT_MS = 2000;
+
+	private static final long CALL_TIMEOUT_MS = 500;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final CallDeadline deadline = new CallDeadline(CALL_TIMEOUT_MS);
+
+	private final RestTemplate restTemplate = new AppConfig().restTemplate(1000, READ_TIMEOUT_MS, 1000, 5, 30000, deadline);
+
+	private HttpServer server;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		// A byte every 5 ms: 250 ms in all, inside the deadline.
+		server.createContext("/steady", exchange -> respond(exchange, 0, 5));
+		// Headers at once, then a byte every 100 ms for 5 s.
+		server.createContext("/trickle", exchange -> respond(exchange, 0, 100));
+		// Nothing for 1.5 s, within the read timeout, then the whole body.
+		server.createContext("/slow", exchange -> respond(exchange, 1500, 0));
+		server.setExecutor(executor);
+		server.start();
+	}
+
+	@AfterEach
+	void stop() {
+		server.stop(0);
+		executor.shutdownNow();
+		deadline.close();
+	}
+
+	@Test
+	void tricklingBodyIsCutOffAtTheDeadline() {
+		assertCutOff("/trickle");
+	}
+
+	@Test
+	void slowResponseIsCutOffAtTheDeadline() {
+		assertCutOff("/slow");
+	}
+
+	@Test
+	void callsWithinTheDeadlineComplete() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(50, restTemplate.getForObject(url("/steady"), String.class).length());
+		}
+	}
+
+	private void assertCutOff(String path) {
+		long start = System.nanoTime();
+		assertThrows(RestClientException.class, () -> restTemplate.getForObject(url(path), String.class));
+		long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+		assertTrue(elapsedMs >= CALL_TIMEOUT_MS && elapsedMs < CALL_TIMEOUT_MS + 700, elapsedMs + " ms");
+	}
+
+	private String url(String path) {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+	}
+
+	// Sends a 50-byte body after delayMs, pausing pauseMs before every byte.
+	private static void respond(HttpExchange exchange, long delayMs, long pauseMs) throws IOException {
+		byte[] body = "x".repeat(50).getBytes(StandardCharsets.US_ASCII);
+		try (exchange) {
+			sleep(delayMs);
+			exchange.sendResponseHeaders(200, body.length);
+			OutputStream out = exchange.getResponseBody();
+			for (byte b : body) {
+				sleep(pauseMs);
+				out.write(b);
+				out.flush();
+			}
+		} catch (IOException e) {
+			// The client gave up.
+		}
+	}
+
+	private static void sleep(long ms) {
+		try {
+			Thread.sleep(ms);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.application.loadtest;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A throwaway database on the PostgreSQL server the application is configured for, so a load test
+ * needs neither a container nor an embedded server and never touches the real data. The application
+ * migrates it with Flyway on startup; it is dropped again on close unless kept for inspection.
+ */
+final class LoadTestDatabase implements AutoCloseable {
+
+	private final String serverUrl;
+
+	private final String username;
+
+	private final String password;
+
+	private final String name;
+
+	private final boolean keep;
+
+	private LoadTestDatabase(String serverUrl, String username, String password, String name, boolean keep) {
+		this.serverUrl = serverUrl;
+		this.username = username;
+		this.password = password;
+		this.name = name;
+		this.keep = keep;
+	}
+
+	// applicationUrl is the configured spring.datasource.url; the new database lives on the same server.
+	static LoadTestDatabase create(String applicationUrl, String username, String password, boolean keep) throws SQLException {
+		String withoutParameters = applicationUrl.contains("?") ? applicationUrl.substring(0, applicationUrl.indexOf('?')) : applicationUrl;
+		String serverUrl = withoutParameters.substring(0, withoutParameters.lastIndexOf('/') + 1);
+		String name = "realtimeaudit_load_" + System.currentTimeMillis();
+		try (Connection connection = DriverManager.getConnection(serverUrl + "postgres", username, password);
+				Statement statement = connection.createStatement()) {
+			statement.execute("CREATE DATABASE " + name);
+		}
+		return new LoadTestDatabase(serverUrl, username, password, name, keep);
+	}
+
+	String getName() {
+		return name;
+	}
+
+	String getJdbcUrl() {
+		return serverUrl + name + "?reWriteBatchedInserts=true";
+	}
+
+	// Auditors holding at least one plan, lowest ids first, skipping the first offset of them.
+	List<Integer> findPlannedAuditorIds(int offset, int limit) throws SQLException {
+		List<Integer> ids = new ArrayList<>(limit);
+		try (Connection connection = DriverManager.getConnection(getJdbcUrl(), username, password);
+				PreparedStatement statement = connection.prepareStatement(
+						"SELECT DISTINCT auditor_id FROM audit_plan ORDER BY auditor_id OFFSET ? LIMIT ?")) {
+			statement.setInt(1, offset);
+			statement.setInt(2, limit);
+			try (ResultSet rows = statement.executeQuery()) {
+				while (rows.next()) {
+					ids.add(rows.getInt(1));
+				}
+			}
+		}
+		return ids;
+	}
+
+	long countPlans() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(getJdbcUrl(), username, password);
+				Statement statement = connection.createStatement();
+				ResultSet rows = statement.executeQuery("SELECT count(*) FROM audit_plan")) {
+			rows.next();
+			return rows.getLong(1);
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if (keep) {
+			return;
+		}
+		try (Connection connection = DriverManager.getConnection(serverUrl + "postgres", username, password);
+				Statement statement = connection.createStatement()) {
+			statement.execute("DROP DATABASE IF EXISTS " + name + " WITH (FORCE)");
+		}
+	}
+
+}
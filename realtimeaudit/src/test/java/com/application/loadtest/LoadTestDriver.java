@@ -0,0 +1,364 @@
+package com.application.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.application.RealtimeauditApplication;
+import com.application.service.AssignmentMetrics;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * End-to-end load test of the running application against a throwaway database (LoadTestDatabase)
+ * and a solver stand-in (SolverStub), replaying one disruption scenario over HTTP:
+ * <ol>
+ * <li>import: the synthetic auditors and stores through the COPY import endpoints</li>
+ * <li>plan: one POST /api/process, polled until the job finishes</li>
+ * <li>disrupt: planned auditors go UNAVAILABLE one PUT /api/auditor/{id} at a time; the phase ends
+ * when their stores have been reassigned</li>
+ * <li>recover: the same auditors come back AVAILABLE</li>
+ * <li>bulk: shift changes through PUT /api/auditors/status</li>
+ * </ol>
+ * Prints throughput, p50/p99 latency and the JDBC statements Hibernate prepared per operation,
+ * plus the disruption-to-reassignment latency recorded by the application. Run with
+ * {@code mvn -P load-test test-compile exec:exec -Dloadtest.args="--disruptions=500"}; options are
+ * --name=value (see {@link #usage()}), and --app.some.property=value is passed to the application.
+ */
+public final class LoadTestDriver {
+
+	private final Map<String, String> options = new LinkedHashMap<>();
+
+	private final Map<String, String> applicationOverrides = new LinkedHashMap<>();
+
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final List<OperationStats> results = new ArrayList<>();
+
+	private ConfigurableApplicationContext application;
+
+	private String baseUrl;
+
+	private Statistics statistics;
+
+	private MeterRegistry meterRegistry;
+
+	@FunctionalInterface
+	private interface Operation<T> {
+		boolean run(T item) throws Exception;
+	}
+
+	private LoadTestDriver(String[] args) {
+		options.put("auditors", "2000");
+		options.put("stores", "1500");
+		options.put("disruptions", "200");
+		options.put("concurrency", "8");
+		options.put("bulk-size", "100");
+		options.put("bulk-batches", "3");
+		options.put("solver-latency-ms", "50");
+		options.put("solver-jitter-ms", "25");
+		options.put("seed", "42");
+		options.put("keep-database", "false");
+		for (String arg : args) {
+			if (!arg.startsWith("--")) {
+				throw new IllegalArgumentException("Unexpected argument " + arg + "\n" + usage());
+			}
+			String[] pair = arg.substring(2).split("=", 2);
+			String value = pair.length == 2 ? pair[1] : "true";
+			if (pair[0].startsWith("app.")) {
+				applicationOverrides.put(pair[0].substring(4), value);
+			} else if (options.containsKey(pair[0])) {
+				options.put(pair[0], value);
+			} else {
+				throw new IllegalArgumentException("Unknown option " + arg + "\n" + usage());
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		new LoadTestDriver(args).run();
+		// Nothing else to wait for; do not let a stray non-daemon thread keep exec:exec hanging.
+		System.exit(0);
+	}
+
+	private static String usage() {
+		return "Options: --auditors=2000 --stores=1500 --disruptions=200 --concurrency=8 --bulk-size=100 --bulk-batches=3 "
+				+ "--solver-latency-ms=50 --solver-jitter-ms=25 --seed=42 --keep-database --app.<property>=<value>";
+	}
+
+	private void run() throws Exception {
+		Properties configured = new Properties();
+		try (InputStream in = LoadTestDriver.class.getResourceAsStream("/application.properties")) {
+			configured.load(in);
+		}
+		try (LoadTestDatabase database = LoadTestDatabase.create(configured.getProperty("spring.datasource.url"),
+				configured.getProperty("spring.datasource.username"), configured.getProperty("spring.datasource.password"),
+				Boolean.parseBoolean(options.get("keep-database")));
+				SolverStub solver = new SolverStub(longOption("solver-latency-ms"), longOption("solver-jitter-ms"))) {
+			startApplication(database, solver);
+			try {
+				runScenario(database);
+				printReport(database, solver);
+			} finally {
+				application.close();
+			}
+		}
+	}
+
+	private void startApplication(LoadTestDatabase database, SolverStub solver) {
+		Map<String, String> properties = new LinkedHashMap<>();
+		properties.put("server.port", "0");
+		properties.put("spring.datasource.url", database.getJdbcUrl());
+		properties.put("python.api.url", solver.getBaseUrl());
+		properties.put("assignment.engine.default", "remote");
+		properties.put("spring.jpa.properties.hibernate.generate_statistics", "true");
+		properties.put("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "WARN");
+		properties.put("logging.level.root", "WARN");
+		properties.put("logging.level.com.application", "ERROR");
+		properties.put("management.metrics.distribution.percentiles." + AssignmentMetrics.DISRUPTION_LATENCY, "0.5,0.99");
+		properties.putAll(applicationOverrides);
+		String[] args = properties.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new);
+
+		application = new SpringApplicationBuilder(RealtimeauditApplication.class).run(args);
+		baseUrl = "http://localhost:" + ((WebServerApplicationContext) application).getWebServer().getPort();
+		statistics = application.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+		meterRegistry = application.getBean(MeterRegistry.class);
+	}
+
+	private void runScenario(LoadTestDatabase database) throws Exception {
+		int concurrency = intOption("concurrency");
+		Random random = new Random(longOption("seed"));
+
+		List<String[]> imports = List.of(
+				new String[] { "/api/store/import", storesCsv(intOption("stores"), random) },
+				new String[] { "/api/auditor/import", auditorsCsv(intOption("auditors"), random) });
+		runPhase("import", imports, 1, item -> send(HttpRequest.newBuilder(uri(item[0]))
+				.header("Content-Type", "text/csv")
+				.POST(HttpRequest.BodyPublishers.ofString(item[1]))) == 200, null);
+
+		runPhase("plan", List.of(application.getEnvironment().getProperty("assignment.engine.default")), 1, this::generatePlan, null);
+
+		List<Integer> disrupted = database.findPlannedAuditorIds(0, intOption("disruptions"));
+		long coveredBefore = disruptionCount("single");
+		runPhase("disrupt", disrupted, concurrency, id -> updateStatus(id, "UNAVAILABLE"),
+				() -> awaitDisruptionsCovered("single", coveredBefore + disrupted.size()));
+		runPhase("recover", disrupted, concurrency, id -> updateStatus(id, "AVAILABLE"), this::awaitStatusPipeline);
+
+		int bulkSize = intOption("bulk-size");
+		List<Integer> shift = database.findPlannedAuditorIds(0, bulkSize * intOption("bulk-batches"));
+		List<List<Integer>> batches = new ArrayList<>();
+		for (int from = 0; from < shift.size(); from += bulkSize) {
+			batches.add(shift.subList(from, Math.min(shift.size(), from + bulkSize)));
+		}
+		runPhase("bulk", batches, 1, this::bulkUnavailable, null);
+	}
+
+	// Runs the operation for every item on concurrency threads, then waits for the application's
+	// asynchronous follow-up work (if any) before the phase's wall time and statement count are taken.
+	private <T> void runPhase(String name, List<T> items, int concurrency, Operation<T> operation, Runnable awaitFollowUp)
+			throws InterruptedException {
+		OperationStats stats = new OperationStats(name);
+		long statementsBefore = statistics.getPrepareStatementCount();
+		long start = System.nanoTime();
+		AtomicInteger next = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+		for (int w = 0; w < concurrency; w++) {
+			workers.execute(() -> {
+				int i;
+				while ((i = next.getAndIncrement()) < items.size()) {
+					long opStart = System.nanoTime();
+					boolean ok;
+					try {
+						ok = operation.run(items.get(i));
+					} catch (Exception e) {
+						System.err.println(name + " failed: " + e);
+						ok = false;
+					}
+					stats.record(System.nanoTime() - opStart, ok);
+				}
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(1, TimeUnit.HOURS);
+		if (awaitFollowUp != null) {
+			awaitFollowUp.run();
+		}
+		stats.finish(System.nanoTime() - start, statistics.getPrepareStatementCount() - statementsBefore);
+		results.add(stats);
+		System.out.println(OperationStats.header());
+		System.out.println(stats.row());
+	}
+
+	private boolean generatePlan(String engine) throws Exception {
+		HttpResponse<String> submitted = client.send(HttpRequest.newBuilder(uri("/api/process?engine=" + engine))
+				.POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+		if (submitted.statusCode() != 202) {
+			return false;
+		}
+		String jobId = objectMapper.readTree(submitted.body()).path("jobId").asText();
+		while (true) {
+			Thread.sleep(100);
+			HttpResponse<String> polled = client.send(HttpRequest.newBuilder(uri("/api/process/" + jobId)).GET().build(),
+					HttpResponse.BodyHandlers.ofString());
+			JsonNode job = objectMapper.readTree(polled.body());
+			String status = job.path("status").asText();
+			if ("SUCCEEDED".equals(status)) {
+				return true;
+			}
+			if ("FAILED".equals(status)) {
+				System.err.println("Plan job failed: " + job.path("error").asText());
+				return false;
+			}
+		}
+	}
+
+	private boolean updateStatus(int auditorId, String status) throws Exception {
+		return send(HttpRequest.newBuilder(uri("/api/auditor/" + auditorId + "?status=" + status))
+				.PUT(HttpRequest.BodyPublishers.noBody())) == 202;
+	}
+
+	private boolean bulkUnavailable(List<Integer> auditorIds) throws Exception {
+		List<Map<String, Object>> updates = new ArrayList<>(auditorIds.size());
+		auditorIds.forEach(id -> updates.add(Map.of("id", id, "status", "UNAVAILABLE")));
+		return send(HttpRequest.newBuilder(uri("/api/auditors/status"))
+				.header("Content-Type", "application/json")
+				.PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(updates)))) == 200;
+	}
+
+	private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+		return client.send(request.timeout(Duration.ofMinutes(5)).build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+
+	// Waits until the application has recorded the expected number of covered disruptions, or until
+	// nothing has moved for a while (a disruption whose plans were already gone records nothing).
+	private void awaitDisruptionsCovered(String source, long expected) {
+		long stallLimitNanos = TimeUnit.MILLISECONDS.toNanos(pipelineWindowMs() * 3 + 10_000);
+		long last = disruptionCount(source);
+		long lastProgress = System.nanoTime();
+		while (last < expected && System.nanoTime() - lastProgress < stallLimitNanos) {
+			sleep(100);
+			long current = disruptionCount(source);
+			if (current != last) {
+				last = current;
+				lastProgress = System.nanoTime();
+			}
+		}
+	}
+
+	// The consumer holds a batch for one coalescing window after the queue drains.
+	private void awaitStatusPipeline() {
+		while (meterRegistry.get("audit.status.pipeline.queued").gauge().value() > 0) {
+			sleep(50);
+		}
+		sleep(pipelineWindowMs() + 500);
+	}
+
+	private long disruptionCount(String source) {
+		Timer timer = meterRegistry.find(AssignmentMetrics.DISRUPTION_LATENCY).tag("source", source).timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+	private long pipelineWindowMs() {
+		return application.getEnvironment().getProperty("status.pipeline.window-ms", Long.class, 2000L);
+	}
+
+	private void printReport(LoadTestDatabase database, SolverStub solver) throws Exception {
+		System.out.println();
+		System.out.printf("Load test on %s: %s auditors, %s stores, %s disruptions at concurrency %s, solver stub %s ms + up to %s ms%n",
+				database.getName(), options.get("auditors"), options.get("stores"), options.get("disruptions"),
+				options.get("concurrency"), options.get("solver-latency-ms"), options.get("solver-jitter-ms"));
+		System.out.println(OperationStats.header());
+		results.forEach(stats -> System.out.println(stats.row()));
+		System.out.println();
+		for (String source : List.of("single", "bulk")) {
+			Timer timer = meterRegistry.find(AssignmentMetrics.DISRUPTION_LATENCY).tag("source", source).timer();
+			if (timer == null || timer.count() == 0) {
+				continue;
+			}
+			StringBuilder line = new StringBuilder(String.format("Disruption to committed reassignment (%s): n=%d", source, timer.count()));
+			for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+				line.append(String.format(" p%.0f=%.0f ms", percentile.percentile() * 100, percentile.value(TimeUnit.MILLISECONDS)));
+			}
+			line.append(String.format(" max=%.0f ms", timer.max(TimeUnit.MILLISECONDS)));
+			System.out.println(line);
+		}
+		System.out.printf("Solver stub calls: %d; plans at the end: %d%n", solver.getCallCount(), database.countPlans());
+	}
+
+	private static String storesCsv(int count, Random random) {
+		StringBuilder csv = new StringBuilder("name,address,locationLat,locationLon\n");
+		for (int i = 1; i <= count; i++) {
+			csv.append("Load Store ").append(i).append(",\"").append(i).append(" Main St\",")
+					.append(latitude(random)).append(',').append(longitude(random)).append('\n');
+		}
+		return csv.toString();
+	}
+
+	private static String auditorsCsv(int count, Random random) {
+		StringBuilder csv = new StringBuilder("name,homeLat,homeLon,workLoadCapacityHours\n");
+		for (int i = 1; i <= count; i++) {
+			csv.append("Load Auditor ").append(i).append(',')
+					.append(latitude(random)).append(',').append(longitude(random)).append(",40\n");
+		}
+		return csv.toString();
+	}
+
+	// Continental US.
+	private static double latitude(Random random) {
+		return 25.0 + random.nextDouble() * 24.0;
+	}
+
+	private static double longitude(Random random) {
+		return -124.0 + random.nextDouble() * 57.0;
+	}
+
+	private int intOption(String name) {
+		return Integer.parseInt(options.get(name));
+	}
+
+	private long longOption(String name) {
+		return Long.parseLong(options.get(name));
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
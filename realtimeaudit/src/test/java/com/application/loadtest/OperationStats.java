@@ -0,0 +1,61 @@
+package com.application.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Latencies, errors, wall time and database statements of one operation type in one load-test phase.
+final class OperationStats {
+
+	private final String name;
+
+	private final ConcurrentLinkedQueue<Long> latenciesNanos = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger errors = new AtomicInteger();
+
+	private long wallNanos;
+
+	private long statements;
+
+	OperationStats(String name) {
+		this.name = name;
+	}
+
+	void record(long latencyNanos, boolean ok) {
+		latenciesNanos.add(latencyNanos);
+		if (!ok) {
+			errors.incrementAndGet();
+		}
+	}
+
+	void finish(long wallNanos, long statements) {
+		this.wallNanos = wallNanos;
+		this.statements = statements;
+	}
+
+	static String header() {
+		return String.format("%-12s %7s %7s %9s %10s %9s %9s %9s %11s %9s",
+				"operation", "ops", "errors", "wall s", "ops/s", "p50 ms", "p99 ms", "max ms", "statements", "stmts/op");
+	}
+
+	String row() {
+		long[] sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+		Arrays.sort(sorted);
+		int ops = sorted.length;
+		double wallSeconds = wallNanos / 1e9;
+		return String.format("%-12s %7d %7d %9.2f %10.1f %9.1f %9.1f %9.1f %11d %9.1f",
+				name, ops, errors.get(), wallSeconds, ops == 0 ? 0 : ops / wallSeconds,
+				percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), ops == 0 ? 0 : sorted[ops - 1] / 1e6,
+				statements, ops == 0 ? 0 : (double) statements / ops);
+	}
+
+	// Nearest-rank percentile.
+	private static double percentileMs(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(percentile * sorted.length);
+		return sorted[Math.max(0, rank - 1)] / 1e6;
+	}
+
+}
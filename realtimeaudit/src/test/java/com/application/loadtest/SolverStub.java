@@ -0,0 +1,101 @@
+package com.application.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.service.DistanceMatrix;
+import com.application.service.GreedyAssignmentEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stand-in for the Python solver's POST /api/process-assignments on a free loopback port. Each
+ * call waits latencyMs plus up to jitterMs, then answers in the solver's response format with the
+ * in-JVM greedy engine's assignment, so the application sees realistic solver round trips without
+ * the Flask/OpenAI service.
+ */
+final class SolverStub implements AutoCloseable {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	// An empty (disabled) matrix makes the greedy engine compute every distance itself.
+	private final GreedyAssignmentEngine engine = new GreedyAssignmentEngine(new DistanceMatrix(null, null, 0));
+
+	private final long latencyMs;
+
+	private final long jitterMs;
+
+	private final AtomicLong calls = new AtomicLong();
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	private final HttpServer server;
+
+	SolverStub(long latencyMs, long jitterMs) throws IOException {
+		this.latencyMs = latencyMs;
+		this.jitterMs = jitterMs;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/api/process-assignments", this::handle);
+		this.server.setExecutor(executor);
+		this.server.start();
+	}
+
+	String getBaseUrl() {
+		return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+	}
+
+	long getCallCount() {
+		return calls.get();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			if (!"POST".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			calls.incrementAndGet();
+			AssignmentRequestDTO request;
+			try (InputStream body = exchange.getRequestBody()) {
+				request = objectMapper.readValue(body, AssignmentRequestDTO.class);
+			}
+			sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+
+			AssignmentResponseDTO response = engine.assign(request);
+			byte[] json = objectMapper.writeValueAsBytes(response);
+			exchange.getResponseHeaders().set("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, json.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(json);
+			}
+		}
+	}
+
+	private static void sleep(long millis) {
+		if (millis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.application.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.application.entities.AuditPlan;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.service.AuditorCapacity;
+
+/**
+ * The capacity query and AuditorCapacity must agree on who has room for one more audit, including
+ * hours that fall a floating-point rounding error short of it (4.1 - 0.1 is 3.9999999999999996).
+ */
+@SpringBootTest
+@Transactional
+class CapacityQueryTest {
+
+	private static final double HOURS_PER_AUDIT = 4;
+
+	@Autowired
+	private AuditorRepository auditorRepository;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private AuditPlanRepository auditPlanRepository;
+
+	private final AuditorCapacity capacity = new AuditorCapacity(HOURS_PER_AUDIT);
+
+	private final Map<Auditors, Long> plansByAuditor = new LinkedHashMap<>();
+
+	@Test
+	void queryAgreesWithAuditorCapacityAtTheBoundary() {
+		// Capacity, booked hours and plans held; the comments give the engine's audits left.
+		auditor(4.1, 0.1, 0); // 1, by the epsilon
+		auditor(8.2, 0.2, 1); // 1, by the epsilon once a plan's hours are counted
+		auditor(10.1, 6.1, 0); // 1
+		auditor(10.0, 6.1, 0); // 0
+		auditor(14.0, 6.1, 1); // 0
+		auditor(0.3, 0.0, 0); // 0
+
+		Set<Integer> expected = plansByAuditor.keySet().stream()
+				.filter(auditor -> capacity.auditsLeft(auditor, plansByAuditor.get(auditor)) > 0)
+				.map(Auditors::getId)
+				.collect(Collectors.toSet());
+		assertEquals(3, expected.size());
+
+		Set<Integer> ids = plansByAuditor.keySet().stream().map(Auditors::getId).collect(Collectors.toSet());
+		Set<Integer> found = auditorRepository.findAvailableWithRoomFor(HOURS_PER_AUDIT).stream()
+				.map(Auditors::getId)
+				.filter(ids::contains)
+				.collect(Collectors.toSet());
+		assertEquals(expected, found);
+	}
+
+	private void auditor(double capacityHours, double bookedHours, int plans) {
+		Auditors auditor = new Auditors();
+		auditor.setName("capacity-test auditor");
+		auditor.setHomeLat(12.97);
+		auditor.setHomeLon(77.59);
+		auditor.setWorkLoadCapacityHours(capacityHours);
+		auditor.setCurrentAssignedHours(bookedHours);
+		auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		auditor = auditorRepository.save(auditor);
+		for (int i = 0; i < plans; i++) {
+			Store store = new Store();
+			store.setName("capacity-test store");
+			store.setLocationLat(12.97);
+			store.setLocationLon(77.59);
+			AuditPlan plan = new AuditPlan();
+			plan.setStore(storeRepository.save(store));
+			plan.setAuditors(auditor);
+			plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
+			auditPlanRepository.save(plan);
+		}
+		plansByAuditor.put(auditor, (long) plans);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.application.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the unassigned-auditor/store queries and checks
+ * that PostgreSQL can answer them as index-backed anti-joins. Sequential scans are disabled for the
+ * test transaction, since on a small test database the planner would rightly prefer them.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "com.application.repository.UnassignedQueryPlanTest$LastStatement")
+@Transactional
+class UnassignedQueryPlanTest {
+
+	public static class LastStatement implements StatementInspector {
+
+		static volatile String sql;
+
+		@Override
+		public String inspect(String statement) {
+			sql = statement;
+			return statement;
+		}
+	}
+
+	@Autowired
+	private AuditorRepository auditorRepository;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void disableSeqScan() {
+		jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+	}
+
+	@Test
+	void unassignedAuditorsUseAntiJoinOnIndexes() {
+		auditorRepository.findAvailableAndUnassignedAuditors();
+		String plan = explain(LastStatement.sql);
+
+		assertTrue(plan.contains("Anti Join"), plan);
+		assertTrue(plan.contains("idx_auditors_available"), plan);
+		assertTrue(plan.contains("idx_audit_plan_auditor_id"), plan);
+	}
+
+	@Test
+	void unassignedStoresUseAntiJoinOnIndexes() {
+		storeRepository.findOpenAndUnassignedStores();
+		String plan = explain(LastStatement.sql);
+
+		assertTrue(plan.contains("Anti Join"), plan);
+		assertTrue(plan.contains("idx_store_open"), plan);
+		assertTrue(plan.contains("uk_audit_plan_store_id"), plan);
+	}
+
+	private String explain(String sql) {
+		List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+		return String.join("\n", lines);
+	}
+
+}
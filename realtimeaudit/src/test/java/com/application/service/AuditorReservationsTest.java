@@ -0,0 +1,73 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class AuditorReservationsTest {
+
+	private final AuditorReservations reservations = new AuditorReservations();
+
+	@Test
+	void concurrentReservationsAreDisjoint() throws Exception {
+		int passes = 8;
+		List<Integer> auditorIds = IntStream.rangeClosed(1, 5000).boxed().collect(Collectors.toList());
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(passes);
+		try {
+			List<Future<AuditorReservations.Reservation>> results = new ArrayList<>();
+			for (int pass = 0; pass < passes; pass++) {
+				// Every pass asks for the same auditors, each from a different starting point.
+				List<Integer> wanted = new ArrayList<>(auditorIds);
+				Collections.rotate(wanted, pass * 611);
+				results.add(threads.submit(() -> {
+					start.await();
+					return reservations.reserve(wanted);
+				}));
+			}
+			start.countDown();
+
+			Set<Integer> claimed = new HashSet<>();
+			List<AuditorReservations.Reservation> held = new ArrayList<>();
+			for (Future<AuditorReservations.Reservation> result : results) {
+				AuditorReservations.Reservation reservation = result.get();
+				held.add(reservation);
+				for (int auditorId : reservation.getAuditorIds()) {
+					assertTrue(claimed.add(auditorId), "auditor " + auditorId + " reserved by two passes");
+				}
+			}
+			assertEquals(new HashSet<>(auditorIds), claimed);
+			assertEquals(auditorIds.size(), reservations.getReservedCount());
+
+			held.forEach(AuditorReservations.Reservation::close);
+			assertEquals(0, reservations.getReservedCount());
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	@Test
+	void closedReservationFreesItsAuditors() {
+		AuditorReservations.Reservation first = reservations.reserve(List.of(1, 2, 3));
+		AuditorReservations.Reservation second = reservations.reserve(List.of(3, 4));
+		assertEquals(Set.of(4), second.getAuditorIds());
+
+		first.close();
+
+		assertEquals(Set.of(1, 3), reservations.reserve(List.of(1, 3, 4)).getAuditorIds());
+	}
+
+}
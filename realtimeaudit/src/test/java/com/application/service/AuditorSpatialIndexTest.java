@@ -0,0 +1,76 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.application.entities.Auditors;
+import com.application.repository.AuditorRepository;
+
+class AuditorSpatialIndexTest {
+
+	private final AuditorSpatialIndex index = new AuditorSpatialIndex(mock(AuditorRepository.class), 0.5);
+
+	private final Random random = new Random(11);
+
+	@Test
+	void nearestMatchesALinearScan() {
+		List<Auditors> auditors = new ArrayList<>();
+		for (int id = 1; id <= 2000; id++) {
+			Auditors auditor = auditor(id, 8 + random.nextDouble() * 22, 70 + random.nextDouble() * 18,
+					random.nextInt(5) == 0 ? Auditors.AvailabilityStatus.UNAVAILABLE : Auditors.AvailabilityStatus.AVAILABLE);
+			index.update(auditor);
+			auditors.add(auditor);
+		}
+		// Moves and availability changes after the first insert.
+		for (int i = 0; i < 300; i++) {
+			Auditors auditor = auditors.get(random.nextInt(auditors.size()));
+			auditor.setHomeLat(8 + random.nextDouble() * 22);
+			auditor.setHomeLon(70 + random.nextDouble() * 18);
+			auditor.setAvailabilityStatus(random.nextBoolean() ? Auditors.AvailabilityStatus.AVAILABLE : Auditors.AvailabilityStatus.ON_LEAVE);
+			index.update(auditor);
+		}
+
+		for (int query = 0; query < 500; query++) {
+			// Some queries fall outside the area the auditors live in.
+			double lat = 5 + random.nextDouble() * 28;
+			double lon = 67 + random.nextDouble() * 24;
+			int k = 1 + random.nextInt(query % 50 == 0 ? 3000 : 25);
+			Set<Integer> excluded = new HashSet<>();
+			for (int i = random.nextInt(20); i > 0; i--) {
+				excluded.add(1 + random.nextInt(auditors.size()));
+			}
+
+			assertEquals(linearScan(auditors, lat, lon, k, excluded), index.findNearest(lat, lon, k, excluded),
+					"k=" + k + " at " + lat + "," + lon);
+		}
+	}
+
+	private static List<Integer> linearScan(List<Auditors> auditors, double lat, double lon, int k, Set<Integer> excluded) {
+		return auditors.stream()
+				.filter(auditor -> auditor.getAvailabilityStatus() == Auditors.AvailabilityStatus.AVAILABLE)
+				.filter(auditor -> !excluded.contains(auditor.getId()))
+				.sorted(Comparator.comparingDouble(auditor -> GeoUtils.haversineDistance(lat, lon, auditor.getHomeLat(), auditor.getHomeLon())))
+				.limit(k)
+				.map(Auditors::getId)
+				.toList();
+	}
+
+	private static Auditors auditor(int id, double lat, double lon, Auditors.AvailabilityStatus status) {
+		Auditors auditor = new Auditors();
+		auditor.setId(id);
+		auditor.setHomeLat(lat);
+		auditor.setHomeLon(lon);
+		auditor.setAvailabilityStatus(status);
+		return auditor;
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.application.DTO.ImportReportDTO;
+
+/**
+ * Row validation of the COPY imports against the real database. Each test runs in a transaction
+ * that is rolled back, which the import joins, so the loaded rows are read back and then discarded.
+ */
+@SpringBootTest
+@Transactional
+class BulkImportServiceTest {
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void csvStoresAreValidatedRowByRow() throws IOException {
+		ImportReportDTO report = bulkImportService.importStores(body("""
+				name,address,locationLat,locationLon,storeStatus
+				"import-test ""Corner"", Shop","12 Main St, Pune",18.52,73.85,closed
+				,no name,18.52,73.85,OPEN
+				import-test lat,,91,73.85,OPEN
+				import-test lon,,18.52,-180.5,OPEN
+				import-test status,,18.52,73.85,SHUT
+				import-test nan,,north,73.85,OPEN
+				import-test plain,,-90,180,
+				"""), true);
+
+		assertReport(report, 7, 2, List.of(3L, 4L, 5L, 6L, 7L));
+		assertMessages(report, "name is required", "locationLat must be between", "locationLon must be between",
+				"storeStatus must be one of", "locationLat is not a number");
+
+		Map<String, Object> quoted = jdbcTemplate.queryForMap("SELECT * FROM store WHERE name LIKE 'import-test \"Corner\"%'");
+		assertEquals("import-test \"Corner\", Shop", quoted.get("name"));
+		assertEquals("12 Main St, Pune", quoted.get("address"));
+		assertEquals("CLOSED", quoted.get("store_status"));
+		Map<String, Object> plain = jdbcTemplate.queryForMap("SELECT * FROM store WHERE name = 'import-test plain'");
+		assertNull(plain.get("address"));
+		assertEquals(-90.0, ((Number) plain.get("location_lat")).doubleValue());
+		assertEquals("OPEN", plain.get("store_status"));
+	}
+
+	@Test
+	void ndjsonAuditorsAreValidatedRowByRow() throws IOException {
+		ImportReportDTO report = bulkImportService.importAuditors(body("""
+				{"name":"import-test full","homeLat":12.97,"homeLon":77.59,"workLoadCapacityHours":40,"currentAssignedHours":6.5,"availabilityStatus":"on_leave"}
+
+				{"name":"import-test broken",
+				[1,2]
+				{"name":"import-test negative","homeLat":12.97,"homeLon":77.59,"workLoadCapacityHours":-1}
+				{"name":"import-test status","homeLat":12.97,"homeLon":77.59,"availabilityStatus":"ASLEEP"}
+				{"name":"  ","homeLat":12.97,"homeLon":77.59}
+				{"name":"import-test defaults","homeLat":12.97,"homeLon":77.59}
+				"""), false);
+
+		// The blank second line is neither received nor rejected but still counts for line numbers.
+		assertReport(report, 7, 2, List.of(3L, 4L, 5L, 6L, 7L));
+		assertMessages(report, "Malformed JSON", "Expected a JSON object", "workLoadCapacityHours must not be negative",
+				"availabilityStatus must be one of", "name is required");
+
+		Map<String, Object> full = jdbcTemplate.queryForMap("SELECT * FROM auditors WHERE name = 'import-test full'");
+		assertEquals(40.0, ((Number) full.get("workload_capacity_hours")).doubleValue());
+		assertEquals(6.5, ((Number) full.get("current_assigned_hours")).doubleValue());
+		assertEquals("ON_LEAVE", full.get("availability_status"));
+		Map<String, Object> defaults = jdbcTemplate.queryForMap("SELECT * FROM auditors WHERE name = 'import-test defaults'");
+		assertEquals(0.0, ((Number) defaults.get("workload_capacity_hours")).doubleValue());
+		assertEquals("AVAILABLE", defaults.get("availability_status"));
+	}
+
+	@Test
+	void malformedCsvStopsTheImportButKeepsEarlierRows() throws IOException {
+		ImportReportDTO report = bulkImportService.importStores(body("""
+				name,locationLat,locationLon
+				import-test before,18.52,73.85
+				"import-test unclosed,18.52,73.85
+				import-test after,18.52,73.85
+				"""), true);
+
+		assertEquals(2, report.getReceived());
+		assertEquals(1, report.getImported());
+		assertEquals(1, report.getRejected());
+		assertTrue(report.getErrors().get(0).message().startsWith("Malformed CSV, import stopped here"), report.getErrors().toString());
+		assertTrue(report.getErrors().get(0).line() >= 3, report.getErrors().toString());
+		assertEquals(1, count("store"));
+	}
+
+	@Test
+	void reportedErrorsAreCappedButAllRejectionsCounted() throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (int i = 0; i < 150; i++) {
+			lines.append("{\"homeLat\":12.97,\"homeLon\":77.59}\n");
+		}
+		lines.append("{\"name\":\"import-test last\",\"homeLat\":12.97,\"homeLon\":77.59}\n");
+
+		ImportReportDTO report = bulkImportService.importAuditors(body(lines.toString()), false);
+
+		assertReport(report, 151, 1, LongStream.rangeClosed(1, 100).boxed().toList());
+		assertEquals(150, report.getRejected());
+		assertEquals(1, count("auditors"));
+	}
+
+	private static ByteArrayInputStream body(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void assertReport(ImportReportDTO report, long received, long imported, List<Long> errorLines) {
+		assertEquals(received, report.getReceived());
+		assertEquals(imported, report.getImported());
+		assertEquals(received - imported, report.getRejected());
+		assertEquals(errorLines, report.getErrors().stream().map(ImportReportDTO.RowError::line).toList());
+	}
+
+	private static void assertMessages(ImportReportDTO report, String... prefixes) {
+		for (int i = 0; i < prefixes.length; i++) {
+			String message = report.getErrors().get(i).message();
+			assertTrue(message.startsWith(prefixes[i]), message);
+		}
+	}
+
+	private long count(String table) {
+		return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE name LIKE 'import-test%'", Long.class);
+	}
+
+}
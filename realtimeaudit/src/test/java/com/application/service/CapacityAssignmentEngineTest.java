@@ -0,0 +1,65 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.SolverStoreResult;
+import com.application.DTO.StoreDTO;
+
+class CapacityAssignmentEngineTest {
+
+	private final AuditorCapacity capacity = new AuditorCapacity(4);
+
+	// A short candidate list makes stores run through it and rank again among the auditors with room.
+	private final CapacityAssignmentEngine engine = new CapacityAssignmentEngine(new DistanceMatrix(null, null, 0), capacity, 3);
+
+	@Test
+	void noAuditorExceedsItsAuditsLeft() {
+		Random random = new Random(3);
+		for (int round = 0; round < 20; round++) {
+			AssignmentRequestDTO request = new AssignmentRequestDTO();
+			Map<Integer, Integer> auditsLeft = new HashMap<>();
+			int totalAuditsLeft = 0;
+			for (int id = 1; id <= 40; id++) {
+				String status = random.nextInt(6) == 0 ? "UNAVAILABLE" : "AVAILABLE";
+				// Zero to five audits of room, some of it already booked.
+				AuditorDTO auditor = new AuditorDTO(id, 8 + random.nextDouble() * 22, 70 + random.nextDouble() * 18, status,
+						40.0, 20.0 + random.nextInt(6) * 4 - random.nextDouble());
+				request.getAuditors().add(auditor);
+				int left = "AVAILABLE".equals(status) ? capacity.auditsLeft(auditor) : 0;
+				auditsLeft.put(id, left);
+				totalAuditsLeft += left;
+			}
+			int openStores = 0;
+			for (int id = 1; id <= 150; id++) {
+				String status = random.nextInt(10) == 0 ? "CLOSED" : "OPEN";
+				openStores += "OPEN".equals(status) ? 1 : 0;
+				request.getStores().add(new StoreDTO(id, 8 + random.nextDouble() * 22, 70 + random.nextDouble() * 18, status));
+			}
+
+			Map<Integer, Integer> assignedPerAuditor = new HashMap<>();
+			Map<Integer, String> storeStatus = new HashMap<>();
+			request.getStores().forEach(store -> storeStatus.put(store.getStoreId(), store.getStoreStatus()));
+			for (SolverStoreResult result : engine.assign(request).getData().getStores()) {
+				if (result.assignedAuditorId() != null) {
+					assertEquals("OPEN", storeStatus.get(result.storeId()), "closed store " + result.storeId() + " assigned");
+					assignedPerAuditor.merge(result.assignedAuditorId(), 1, Integer::sum);
+				}
+			}
+
+			assignedPerAuditor.forEach((auditorId, assigned) -> assertTrue(assigned <= auditsLeft.get(auditorId),
+					"auditor " + auditorId + " got " + assigned + " stores with room for " + auditsLeft.get(auditorId)));
+			int assigned = assignedPerAuditor.values().stream().mapToInt(Integer::intValue).sum();
+			assertEquals(Math.min(openStores, totalAuditsLeft), assigned);
+		}
+	}
+
+}
@@ -0,0 +1,196 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditorRepository;
+import com.application.repository.StoreRepository;
+
+class DistanceMatrixTest {
+
+	private final Random random = new Random(5);
+
+	private final Map<Integer, Auditors> auditors = new LinkedHashMap<>();
+
+	private final Map<Integer, Store> stores = new LinkedHashMap<>();
+
+	private int nextId = 1;
+
+	@Test
+	void lookupsMatchHaversineThroughGrowthMovesAndSlotReuse() {
+		DistanceMatrix matrix = matrix(10_000_000);
+		for (int i = 0; i < 40; i++) {
+			addAuditor(matrix);
+		}
+		// Past INITIAL_SLOTS (64) twice over, so every row is doubled along the way.
+		for (int i = 0; i < 200; i++) {
+			addStore(matrix);
+		}
+		assertLookups(matrix);
+
+		for (int round = 0; round < 20; round++) {
+			List<Store> open = stores.values().stream().filter(store -> store.getStoreStatus() == Store.StoreStatus.OPEN).toList();
+			for (int i = 0; i < 10; i++) {
+				Store store = open.get(random.nextInt(open.size()));
+				if (random.nextBoolean()) {
+					store.setStoreStatus(Store.StoreStatus.CLOSED);
+				} else {
+					store.setLocationLat(lat());
+					store.setLocationLon(lon());
+				}
+				matrix.updateStore(store);
+			}
+			int slotsBefore = slotCount(matrix);
+			int freeSlots = slotsBefore - (int) stores.values().stream().filter(store -> store.getStoreStatus() == Store.StoreStatus.OPEN).count();
+			// Reopened and new stores take the freed slots before the matrix grows.
+			for (Store store : stores.values()) {
+				if (freeSlots > 0 && store.getStoreStatus() == Store.StoreStatus.CLOSED && random.nextInt(3) == 0) {
+					store.setStoreStatus(Store.StoreStatus.OPEN);
+					matrix.updateStore(store);
+					freeSlots--;
+				}
+			}
+			for (int i = 0; i < 3 && freeSlots > 0; i++, freeSlots--) {
+				addStore(matrix);
+			}
+			assertEquals(slotsBefore, slotCount(matrix), "freed slots were not reused");
+
+			for (Auditors auditor : List.copyOf(auditors.values())) {
+				switch (random.nextInt(8)) {
+				case 0 -> auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.UNAVAILABLE);
+				case 1 -> auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+				case 2 -> {
+					auditor.setHomeLat(lat());
+					auditor.setHomeLon(lon());
+				}
+				default -> {
+					continue;
+				}
+				}
+				matrix.updateAuditor(auditor);
+			}
+			addAuditor(matrix);
+			assertLookups(matrix);
+		}
+	}
+
+	@Test
+	void lookupsFallBackForCoordinatesTheMatrixDoesNotHold() {
+		DistanceMatrix matrix = matrix(10_000_000);
+		for (int i = 0; i < 5; i++) {
+			addAuditor(matrix);
+			addStore(matrix);
+		}
+		// The request was built before a move the matrix has not seen, or from entities it never held.
+		List<AuditorDTO> auditorDtos = new ArrayList<>(auditorDtos());
+		auditorDtos.set(0, new AuditorDTO(auditorDtos.get(0).getAuditorId(), lat(), lon(), "AVAILABLE", null, null));
+		auditorDtos.add(new AuditorDTO(-1, lat(), lon(), "AVAILABLE", null, null));
+		List<StoreDTO> storeDtos = new ArrayList<>(storeDtos());
+		storeDtos.set(0, new StoreDTO(storeDtos.get(0).getStoreId(), lat(), lon(), "OPEN"));
+		storeDtos.add(new StoreDTO(-1, lat(), lon(), "OPEN"));
+
+		assertLookups(matrix, auditorDtos, storeDtos);
+	}
+
+	@Test
+	void matrixOverMaxCellsStillAnswersEveryLookup() {
+		DistanceMatrix matrix = matrix(100);
+		for (int i = 0; i < 10; i++) {
+			addAuditor(matrix);
+		}
+		// The eleventh store takes the matrix over 100 cells and switches it off.
+		for (int i = 0; i < 15; i++) {
+			addStore(matrix);
+		}
+		assertEquals(0, slotCount(matrix));
+		assertLookups(matrix);
+	}
+
+	private DistanceMatrix matrix(long maxCells) {
+		AuditorRepository auditorRepository = mock(AuditorRepository.class);
+		StoreRepository storeRepository = mock(StoreRepository.class);
+		when(auditorRepository.findByAvailabilityStatus(any())).thenReturn(List.of());
+		when(storeRepository.findByStoreStatus(any())).thenReturn(List.of());
+		DistanceMatrix matrix = new DistanceMatrix(auditorRepository, storeRepository, maxCells);
+		matrix.rebuild();
+		return matrix;
+	}
+
+	private void addAuditor(DistanceMatrix matrix) {
+		Auditors auditor = new Auditors();
+		auditor.setId(nextId++);
+		auditor.setHomeLat(lat());
+		auditor.setHomeLon(lon());
+		auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		auditors.put(auditor.getId(), auditor);
+		matrix.updateAuditor(auditor);
+	}
+
+	private void addStore(DistanceMatrix matrix) {
+		Store store = new Store();
+		store.setId(nextId++);
+		store.setLocationLat(lat());
+		store.setLocationLon(lon());
+		store.setStoreStatus(Store.StoreStatus.OPEN);
+		stores.put(store.getId(), store);
+		matrix.updateStore(store);
+	}
+
+	// Every auditor against every store, available and open or not, as a request would carry them.
+	private void assertLookups(DistanceMatrix matrix) {
+		assertLookups(matrix, auditorDtos(), storeDtos());
+	}
+
+	private static void assertLookups(DistanceMatrix matrix, List<AuditorDTO> auditorDtos, List<StoreDTO> storeDtos) {
+		try (DistanceMatrix.Lookup lookup = matrix.lookup(auditorDtos, storeDtos)) {
+			for (int a = 0; a < auditorDtos.size(); a++) {
+				AuditorDTO auditor = auditorDtos.get(a);
+				for (int s = 0; s < storeDtos.size(); s++) {
+					StoreDTO store = storeDtos.get(s);
+					double expected = GeoUtils.haversineDistance(store.getLatitude(), store.getLongitude(), auditor.getLatitude(), auditor.getLongitude());
+					assertEquals(expected, lookup.distanceKm(a, s), 1e-9, "auditor " + auditor.getAuditorId() + ", store " + store.getStoreId());
+				}
+			}
+		}
+	}
+
+	private List<AuditorDTO> auditorDtos() {
+		return auditors.values().stream()
+				.map(auditor -> new AuditorDTO(auditor.getId(), auditor.getHomeLat(), auditor.getHomeLon(), auditor.getAvailabilityStatus().name(), null, null))
+				.toList();
+	}
+
+	private List<StoreDTO> storeDtos() {
+		return stores.values().stream()
+				.map(store -> new StoreDTO(store.getId(), store.getLocationLat(), store.getLocationLon(), store.getStoreStatus().name()))
+				.toList();
+	}
+
+	private static int slotCount(DistanceMatrix matrix) {
+		return (int) ReflectionTestUtils.getField(matrix, "slotCount");
+	}
+
+	private double lat() {
+		return 8 + random.nextDouble() * 22;
+	}
+
+	private double lon() {
+		return 70 + random.nextDouble() * 18;
+	}
+
+}
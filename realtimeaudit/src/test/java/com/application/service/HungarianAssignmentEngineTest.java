@@ -0,0 +1,121 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+
+class HungarianAssignmentEngineTest {
+
+	private final HungarianAssignmentEngine engine = new HungarianAssignmentEngine(new DistanceMatrix(null, null, 0));
+
+	private final Random random = new Random(7);
+
+	@Test
+	void squareMatchingIsOptimal() {
+		for (int round = 0; round < 200; round++) {
+			int size = 1 + random.nextInt(6);
+			assertOptimal(auditors(size), stores(size));
+		}
+	}
+
+	@Test
+	void rectangularMatchingIsOptimal() {
+		for (int round = 0; round < 200; round++) {
+			int small = 1 + random.nextInt(4);
+			int large = small + 1 + random.nextInt(3);
+			if (round % 2 == 0) {
+				assertOptimal(auditors(large), stores(small));
+			} else {
+				assertOptimal(auditors(small), stores(large));
+			}
+		}
+	}
+
+	@Test
+	void unavailableAuditorsAndClosedStoresStayOutOfTheMatching() {
+		List<AuditorDTO> auditors = List.of(new AuditorDTO(1, 19.0, 72.8, "UNAVAILABLE", null, null),
+				new AuditorDTO(2, 28.6, 77.2, "AVAILABLE", null, null));
+		List<StoreDTO> stores = List.of(new StoreDTO(1, 19.0, 72.8, "OPEN"), new StoreDTO(2, 19.0, 72.8, "CLOSED"));
+
+		int[] assigned = engine.match(auditors, stores, new double[stores.size()]);
+
+		assertArrayEquals(new int[] { 1, -1 }, assigned);
+	}
+
+	// Every side of the smaller size is matched, no auditor twice, and no matching is cheaper.
+	private void assertOptimal(List<AuditorDTO> auditors, List<StoreDTO> stores) {
+		double[] distanceKm = new double[stores.size()];
+		int[] assigned = engine.match(auditors, stores, distanceKm);
+
+		boolean[] used = new boolean[auditors.size()];
+		int matched = 0;
+		double total = 0;
+		for (int s = 0; s < stores.size(); s++) {
+			if (assigned[s] < 0) {
+				continue;
+			}
+			assertFalse(used[assigned[s]], "auditor matched twice");
+			used[assigned[s]] = true;
+			matched++;
+			double expectedKm = distance(auditors.get(assigned[s]), stores.get(s));
+			assertEquals(expectedKm, distanceKm[s], 1e-9);
+			total += expectedKm;
+		}
+		assertEquals(Math.min(auditors.size(), stores.size()), matched);
+		assertEquals(bruteForce(auditors, stores, 0, new boolean[auditors.size()]), total, 1e-6);
+	}
+
+	// Cheapest matching of stores from the given one on; surplus stores may stay out while auditors run short.
+	private static double bruteForce(List<AuditorDTO> auditors, List<StoreDTO> stores, int store, boolean[] used) {
+		int storesLeft = stores.size() - store;
+		int auditorsLeft = 0;
+		for (boolean u : used) {
+			auditorsLeft += u ? 0 : 1;
+		}
+		if (storesLeft == 0 || auditorsLeft == 0) {
+			return 0;
+		}
+		double best = Double.POSITIVE_INFINITY;
+		if (storesLeft > auditorsLeft) {
+			best = bruteForce(auditors, stores, store + 1, used);
+		}
+		for (int a = 0; a < auditors.size(); a++) {
+			if (!used[a]) {
+				used[a] = true;
+				best = Math.min(best, distance(auditors.get(a), stores.get(store)) + bruteForce(auditors, stores, store + 1, used));
+				used[a] = false;
+			}
+		}
+		return best;
+	}
+
+	private static double distance(AuditorDTO auditor, StoreDTO store) {
+		return GeoUtils.haversineDistance(auditor.getLatitude(), auditor.getLongitude(), store.getLatitude(), store.getLongitude());
+	}
+
+	private List<AuditorDTO> auditors(int count) {
+		List<AuditorDTO> auditors = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			auditors.add(new AuditorDTO(i + 1, 8 + random.nextDouble() * 22, 70 + random.nextDouble() * 18, "AVAILABLE", null, null));
+		}
+		return auditors;
+	}
+
+	private List<StoreDTO> stores(int count) {
+		List<StoreDTO> stores = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			stores.add(new StoreDTO(i + 1, 8 + random.nextDouble() * 22, 70 + random.nextDouble() * 18, "OPEN"));
+		}
+		return stores;
+	}
+
+}
@@ -0,0 +1,229 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.StoreDTO;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditPlanRepository;
+import com.application.repository.AuditorRepository;
+import com.application.repository.StoreRepository;
+
+/**
+ * Which auditors and stores an incremental run hands to the engine, and how the watermark it reads
+ * from moves. Commits are simulated by running the registered synchronizations.
+ */
+class IncrementalPlanTest {
+
+	private static final Duration OVERLAP = Duration.ofSeconds(60);
+
+	private static final double RADIUS_KM = 50;
+
+	private final AuditorRepository auditorRepository = mock(AuditorRepository.class);
+
+	private final StoreRepository storeRepository = mock(StoreRepository.class);
+
+	private final AuditorSpatialIndex index = new AuditorSpatialIndex(mock(AuditorRepository.class), 0.5);
+
+	private final CapturingEngine engine = new CapturingEngine();
+
+	private final AuditPlanServiceImpl service = new AuditPlanServiceImpl(OVERLAP.toSeconds());
+
+	// An unplanned auditor that changed near Mumbai, and an unplanned store that changed in Delhi.
+	private final Auditors changedAuditor = auditor(1, 19.07, 72.87);
+
+	private final Store changedStore = store(100, 28.61, 77.21);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(service, "defaultEngine", CapturingEngine.NAME);
+		ReflectionTestUtils.setField(service, "assignmentEngines", List.of(engine));
+		ReflectionTestUtils.setField(service, "auditorRepository", auditorRepository);
+		ReflectionTestUtils.setField(service, "storeRepository", storeRepository);
+		ReflectionTestUtils.setField(service, "auditPlanRepository", mock(AuditPlanRepository.class));
+		ReflectionTestUtils.setField(service, "auditorSpatialIndex", index);
+		ReflectionTestUtils.setField(service, "auditorReservations", new AuditorReservations());
+		ReflectionTestUtils.setField(service, "metrics", mock(AssignmentMetrics.class));
+		ReflectionTestUtils.setField(service, "incrementalCandidateCount", 3);
+		ReflectionTestUtils.setField(service, "incrementalRadiusKm", RADIUS_KM);
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	void firstRunAfterStartupIsAFullRun() {
+		service.generateIncrementalAuditPlan(null);
+
+		verify(auditorRepository).findAvailableAndUnassignedAuditors();
+		verify(storeRepository).findOpenAndUnassignedStores();
+		verify(auditorRepository, never()).findAvailableAndUnassignedChangedSince(any());
+		verify(storeRepository, never()).findOpenAndUnassignedChangedSince(any());
+	}
+
+	@Test
+	void watermarkIsTheLastCommittedRunStartLessTheOverlap() throws InterruptedException {
+		Instant before = Instant.now();
+		service.generateIncrementalAuditPlan(null);
+		Instant after = Instant.now();
+		commit();
+
+		Instant since = incrementalRunSince();
+		assertTrue(!since.isBefore(before.minus(OVERLAP)) && !since.isAfter(after.minus(OVERLAP)), since.toString());
+
+		// A run that rolls back leaves the watermark where it was.
+		rollback();
+		Thread.sleep(5);
+		assertEquals(since, incrementalRunSince());
+
+		// A committed incremental run moves it on.
+		commit();
+		assertTrue(incrementalRunSince().isAfter(since));
+	}
+
+	@Test
+	void changedRowsBringTheirNeighboursIntoTheRun() {
+		// The three auditors nearest to the changed store join it; farther ones and the changed auditor's
+		// own index entry are not looked up again.
+		index.update(changedAuditor);
+		List<Auditors> nearDelhi = List.of(auditor(2, 28.62, 77.22), auditor(3, 28.70, 77.10), auditor(4, 28.50, 77.30),
+				auditor(5, 29.50, 78.00), auditor(6, 12.97, 77.59));
+		nearDelhi.forEach(index::update);
+		startIncremental();
+		when(auditorRepository.findAvailableAndUnassignedChangedSince(any())).thenReturn(List.of(changedAuditor));
+		when(storeRepository.findOpenAndUnassignedChangedSince(any())).thenReturn(List.of(changedStore));
+		// Auditor 3 took a plan after the index saw it.
+		when(auditorRepository.findAvailableAndUnassignedByIdIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<Integer> ids = invocation.getArgument(0);
+			return nearDelhi.stream().filter(auditor -> ids.contains(auditor.getId()) && auditor.getId() != 3).toList();
+		});
+		// A store that has waited near the changed auditor since an earlier run, and the changed store again.
+		Store waiting = store(101, 19.20, 72.95);
+		when(storeRepository.findOpenAndUnassignedWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+				.thenReturn(List.of(waiting, changedStore));
+
+		service.generateIncrementalAuditPlan(null);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Collection<Integer>> lookedUp = ArgumentCaptor.forClass(Collection.class);
+		verify(auditorRepository).findAvailableAndUnassignedByIdIn(lookedUp.capture());
+		assertEquals(Set.of(2, 3, 4), Set.copyOf(lookedUp.getValue()));
+
+		// The box around the changed auditor spans the radius north-south, and more degrees east-west away from the equator.
+		ArgumentCaptor<Double> bounds = ArgumentCaptor.forClass(Double.class);
+		verify(storeRepository).findOpenAndUnassignedWithin(bounds.capture(), bounds.capture(), bounds.capture(), bounds.capture());
+		double latDelta = Math.toDegrees(RADIUS_KM / GeoUtils.EARTH_RADIUS_KM);
+		double lonDelta = latDelta / Math.cos(Math.toRadians(changedAuditor.getHomeLat()));
+		assertEquals(List.of(19.07 - latDelta, 19.07 + latDelta, 72.87 - lonDelta, 72.87 + lonDelta), bounds.getAllValues());
+		assertEquals(RADIUS_KM, GeoUtils.haversineDistance(19.07, 72.87, 19.07 + latDelta, 72.87), 1e-6);
+		assertEquals(RADIUS_KM, GeoUtils.haversineDistance(19.07, 72.87, 19.07, 72.87 + lonDelta), 0.1);
+
+		AssignmentRequestDTO request = engine.requests.get(0);
+		assertEquals(List.of(1, 2, 4), request.getAuditors().stream().map(AuditorDTO::getAuditorId).sorted().toList());
+		assertEquals(List.of(100, 101), request.getStores().stream().map(StoreDTO::getStoreId).toList());
+	}
+
+	@Test
+	void nothingChangedSkipsTheEngine() {
+		startIncremental();
+
+		service.generateIncrementalAuditPlan(null);
+
+		assertTrue(engine.requests.isEmpty());
+		verify(auditorRepository, never()).findAvailableAndUnassignedByIdIn(anyCollection());
+		verify(storeRepository, never()).findOpenAndUnassignedWithin(anyDouble(), anyDouble(), anyDouble(), anyDouble());
+	}
+
+	// A committed full run, so the next call is incremental.
+	private void startIncremental() {
+		service.generateIncrementalAuditPlan(null);
+		commit();
+	}
+
+	// The watermark an incremental run reads changed rows from.
+	private Instant incrementalRunSince() {
+		ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+		service.generateIncrementalAuditPlan(null);
+		verify(auditorRepository, atLeastOnce()).findAvailableAndUnassignedChangedSince(since.capture());
+		return since.getValue();
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.initSynchronization();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static void rollback() {
+		TransactionSynchronizationManager.clearSynchronization();
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	private static Auditors auditor(int id, double lat, double lon) {
+		Auditors auditor = new Auditors();
+		auditor.setId(id);
+		auditor.setHomeLat(lat);
+		auditor.setHomeLon(lon);
+		auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		return auditor;
+	}
+
+	private static Store store(int id, double lat, double lon) {
+		Store store = new Store();
+		store.setId(id);
+		store.setLocationLat(lat);
+		store.setLocationLon(lon);
+		return store;
+	}
+
+	// Records each request and recommends nothing.
+	private static final class CapturingEngine implements AssignmentEngine {
+
+		static final String NAME = "capturing";
+
+		final List<AssignmentRequestDTO> requests = new ArrayList<>();
+
+		@Override
+		public String getName() {
+			return NAME;
+		}
+
+		@Override
+		public AssignmentResponseDTO assign(AssignmentRequestDTO request) {
+			requests.add(request);
+			return null;
+		}
+	}
+
+}
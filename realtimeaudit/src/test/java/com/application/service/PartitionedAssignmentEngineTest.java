@@ -0,0 +1,71 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AssignmentResponseDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.SolverStoreResult;
+import com.application.DTO.StoreDTO;
+
+class PartitionedAssignmentEngineTest {
+
+	private static final int MAX_REGION_SIZE = 1000;
+
+	// Records the largest problem handed to the Hungarian solver.
+	private static final class RecordingHungarian extends HungarianAssignmentEngine {
+
+		private final AtomicInteger largestProblem = new AtomicInteger();
+
+		RecordingHungarian() {
+			super(new DistanceMatrix(null, null, 0));
+		}
+
+		@Override
+		int[] match(List<AuditorDTO> auditors, List<StoreDTO> stores, double[] distanceKm) {
+			largestProblem.accumulateAndGet(auditors.size() + stores.size(), Math::max);
+			return super.match(auditors, stores, distanceKm);
+		}
+	}
+
+	private final RecordingHungarian hungarian = new RecordingHungarian();
+
+	private final PartitionedAssignmentEngine engine = new PartitionedAssignmentEngine(hungarian, 2.0, 2000, MAX_REGION_SIZE, 2);
+
+	@AfterEach
+	void shutdown() {
+		engine.shutdown();
+	}
+
+	// Stores around Delhi, auditors around Mumbai: no grid cell holds both until the coarse passes, whose one
+	// region would otherwise be a 2000 x 4000 Hungarian problem (minutes rather than seconds).
+	@Test
+	void storesClusteredAwayFromAuditorsAreSolvedInBoundedRegions() {
+		Random random = new Random(42);
+		AssignmentRequestDTO request = new AssignmentRequestDTO();
+		for (int i = 0; i < 2000; i++) {
+			request.getAuditors().add(new AuditorDTO(i + 1, 19.0 + random.nextDouble() - 0.5, 72.8 + random.nextDouble() - 0.5, "AVAILABLE", null, null));
+		}
+		for (int i = 0; i < 4000; i++) {
+			request.getStores().add(new StoreDTO(i + 1, 28.6 + random.nextDouble() - 0.5, 77.2 + random.nextDouble() - 0.5, "OPEN"));
+		}
+
+		AssignmentResponseDTO response = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> engine.assign(request));
+
+		assertTrue(hungarian.largestProblem.get() <= MAX_REGION_SIZE, "largest Hungarian problem: " + hungarian.largestProblem.get());
+		long assigned = response.getData().getStores().stream().map(SolverStoreResult::assignedAuditorId).filter(Objects::nonNull).count();
+		assertEquals(2000, assigned);
+	}
+
+}
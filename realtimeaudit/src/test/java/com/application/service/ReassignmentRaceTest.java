@@ -0,0 +1,130 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.application.entities.AuditPlan;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditPlanRepository;
+import com.application.repository.AuditorRepository;
+import com.application.repository.StoreRepository;
+
+/**
+ * Two reassignment passes for the same disrupted plan: whichever writes second finds the store moved
+ * and leaves it with the first pass's auditor instead of overwriting or deleting the plan.
+ */
+@SpringBootTest
+class ReassignmentRaceTest {
+
+	@Autowired
+	private AuditPlanService auditPlanService;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private AuditorRepository auditorRepository;
+
+	@Autowired
+	private AuditPlanRepository auditPlanRepository;
+
+	private Store store;
+
+	private Auditors holder;
+
+	private Auditors first;
+
+	private Auditors second;
+
+	private AuditPlan plan;
+
+	@BeforeEach
+	void createRows() {
+		store = new Store();
+		store.setName("race-test store");
+		store.setLocationLat(12.97);
+		store.setLocationLon(77.59);
+		store = storeRepository.save(store);
+		holder = auditorRepository.save(auditor("race-test holder", Auditors.AvailabilityStatus.UNAVAILABLE));
+		first = auditorRepository.save(auditor("race-test first", Auditors.AvailabilityStatus.AVAILABLE));
+		second = auditorRepository.save(auditor("race-test second", Auditors.AvailabilityStatus.AVAILABLE));
+		plan = new AuditPlan();
+		plan.setStore(store);
+		plan.setAuditors(holder);
+		plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
+		plan = auditPlanRepository.save(plan);
+	}
+
+	@AfterEach
+	void deleteRows() {
+		auditPlanRepository.findByStore(store).ifPresent(auditPlanRepository::delete);
+		storeRepository.deleteById(store.getId());
+		auditorRepository.deleteAllById(List.of(holder.getId(), first.getId(), second.getId()));
+	}
+
+	@Test
+	void stalePassLeavesAMovedStoreAlone() {
+		assertEquals(1, auditPlanService.reassignStores(List.of(store), Set.of(holder.getId()), List.of(first)).size());
+
+		// Read before the first pass committed: it still believes the holder has the store.
+		assertTrue(auditPlanService.reassignStores(List.of(store), Set.of(holder.getId()), List.of(second)).isEmpty());
+
+		assertEquals(first.getId(), heldBy());
+	}
+
+	@Test
+	void concurrentPassesMoveTheStoreOnce() throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService threads = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<List<AuditPlan>>> passes = new ArrayList<>();
+			for (Auditors candidate : List.of(first, second)) {
+				passes.add(threads.submit(() -> {
+					start.await();
+					return auditPlanService.reassignStores(List.of(store), Set.of(holder.getId()), List.of(candidate));
+				}));
+			}
+			start.countDown();
+			int reassigned = 0;
+			for (Future<List<AuditPlan>> pass : passes) {
+				reassigned += pass.get().size();
+			}
+
+			assertEquals(1, reassigned);
+			int heldBy = heldBy();
+			assertTrue(heldBy == first.getId() || heldBy == second.getId(), "store held by auditor " + heldBy);
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	private int heldBy() {
+		return auditPlanRepository.findById(plan.getId()).orElseThrow().getAuditors().getId();
+	}
+
+	private static Auditors auditor(String name, Auditors.AvailabilityStatus status) {
+		Auditors auditor = new Auditors();
+		auditor.setName(name);
+		auditor.setHomeLat(12.98);
+		auditor.setHomeLon(77.60);
+		auditor.setWorkLoadCapacityHours(40);
+		auditor.setAvailabilityStatus(status);
+		return auditor;
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import com.application.DTO.AssignmentRequestDTO;
+import com.application.DTO.AuditorDTO;
+import com.application.DTO.SolverStoreResult;
+import com.application.DTO.StoreDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RemoteSolverAssignmentEngineTest {
+
+	private static final String RESPONSE = "{\"status\":\"success\",\"data\":{\"auditors\":[],"
+			+ "\"stores\":[{\"store_id\":10,\"assigned_auditor_id\":1,\"distance_km\":1.5}]}}";
+
+	private final SolverCircuitBreaker circuitBreaker = new SolverCircuitBreaker(1, 100);
+
+	private RemoteSolverAssignmentEngine engine;
+
+	private AssignmentRequestDTO request;
+
+	@BeforeEach
+	void setUp() {
+		RestTemplate restTemplate = new RestTemplate();
+		MockRestServiceServer.bindTo(restTemplate).build()
+				.expect(manyTimes(), requestTo("http://solver/api/process-assignments"))
+				.andRespond(withSuccess(RESPONSE, MediaType.APPLICATION_JSON));
+		ObjectMapper objectMapper = new ObjectMapper();
+		engine = new RemoteSolverAssignmentEngine(restTemplate, circuitBreaker, mock(GreedyAssignmentEngine.class), objectMapper,
+				new SolverPayloadTracer(0), new SolverResponseParser(objectMapper), mock(AssignmentMetrics.class));
+		ReflectionTestUtils.setField(engine, "pythonApiUrl", "http://solver");
+		ReflectionTestUtils.setField(engine, "pythonApiKey", "test");
+
+		request = new AssignmentRequestDTO();
+		request.getAuditors().add(new AuditorDTO(1, 12.9, 77.6, "AVAILABLE", null, null));
+		request.getStores().add(new StoreDTO(10, 12.91, 77.61, "OPEN"));
+	}
+
+	@Test
+	void streamsStoreResultsIntoTheSuppliedConsumer() {
+		List<SolverStoreResult> results = engine.assign(request, Results::new).results;
+
+		assertEquals(List.of(new SolverStoreResult(10, 1, 1.5)), results);
+	}
+
+	// A trial call that fails with something other than a RestClientException must still end the trial.
+	@Test
+	void halfOpenTrialThatThrowsLetsALaterTrialThrough() throws InterruptedException {
+		circuitBreaker.recordFailure();
+		Thread.sleep(150);
+
+		assertThrows(IllegalStateException.class, () -> engine.assign(request, () -> result -> {
+			throw new IllegalStateException("consumer failed");
+		}));
+
+		Thread.sleep(150);
+		assertTrue(circuitBreaker.allowRequest());
+	}
+
+	private static final class Results implements Consumer<SolverStoreResult> {
+
+		private final List<SolverStoreResult> results = new ArrayList<>();
+
+		@Override
+		public void accept(SolverStoreResult result) {
+			results.add(result);
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.application.service.SolverCircuitBreaker.State;
+
+class SolverCircuitBreakerTest {
+
+	private static final long OPEN_MS = 200;
+
+	@Test
+	void opensAfterThresholdConsecutiveFailures() {
+		SolverCircuitBreaker breaker = new SolverCircuitBreaker(3, 60_000);
+
+		breaker.recordFailure();
+		breaker.recordFailure();
+		breaker.recordSuccess();
+		breaker.recordFailure();
+		breaker.recordFailure();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+
+		breaker.recordFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest());
+	}
+
+	@Test
+	void halfOpenLetsOneTrialThroughAndClosesOnSuccess() throws InterruptedException {
+		SolverCircuitBreaker breaker = openBreaker();
+		Thread.sleep(OPEN_MS + 50);
+
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.allowRequest());
+		assertFalse(breaker.allowRequest(), "only one trial call at a time");
+
+		breaker.recordSuccess();
+		assertEquals(State.CLOSED, breaker.getState());
+		assertTrue(breaker.allowRequest());
+		assertTrue(breaker.allowRequest());
+	}
+
+	@Test
+	void failedTrialOpensAgainAndAllowsTheNextTrialLater() throws InterruptedException {
+		SolverCircuitBreaker breaker = openBreaker();
+		Thread.sleep(OPEN_MS + 50);
+		assertTrue(breaker.allowRequest());
+
+		breaker.recordFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		assertFalse(breaker.allowRequest());
+
+		Thread.sleep(OPEN_MS + 50);
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		assertTrue(breaker.allowRequest());
+	}
+
+	private static SolverCircuitBreaker openBreaker() {
+		SolverCircuitBreaker breaker = new SolverCircuitBreaker(2, OPEN_MS);
+		breaker.recordFailure();
+		breaker.recordFailure();
+		assertEquals(State.OPEN, breaker.getState());
+		return breaker;
+	}
+
+}
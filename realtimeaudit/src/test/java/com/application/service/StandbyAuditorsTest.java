@@ -0,0 +1,191 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditPlanRepository;
+import com.application.repository.AuditorRepository;
+
+class StandbyAuditorsTest {
+
+	private static final int STANDBY_COUNT = 5;
+
+	private final Random random = new Random(3);
+
+	private final AuditorSpatialIndex index = new AuditorSpatialIndex(mock(AuditorRepository.class), 0.5);
+
+	private final AuditPlanRepository auditPlanRepository = mock(AuditPlanRepository.class);
+
+	private final List<Auditors> auditors = new ArrayList<>();
+
+	private final Map<Integer, Store> plannedStores = new TreeMap<>();
+
+	private final Set<Integer> plannedAuditorIds = new HashSet<>();
+
+	private final StandbyAuditors standbyAuditors = new StandbyAuditors(index, auditPlanRepository, true, STANDBY_COUNT);
+
+	@BeforeEach
+	void planStores() {
+		for (int id = 1; id <= 400; id++) {
+			addAuditor(id, lat(), lon());
+		}
+		for (int id = 1; id <= 40; id++) {
+			Store store = new Store();
+			store.setId(id);
+			store.setLocationLat(lat());
+			store.setLocationLon(lon());
+			plannedStores.put(id, store);
+			plannedAuditorIds.add(id);
+		}
+		// Planned auditors crowd the first store, so ranking it has to look past them.
+		Store crowded = plannedStores.get(1);
+		for (int id = 401; id <= 430; id++) {
+			addAuditor(id, crowded.getLocationLat() + (id - 400) * 1e-4, crowded.getLocationLon());
+			plannedAuditorIds.add(id);
+		}
+		when(auditPlanRepository.findPlannedStores()).thenAnswer(invocation -> List.copyOf(plannedStores.values()));
+		when(auditPlanRepository.findPlannedAuditorIds()).thenAnswer(invocation -> List.copyOf(plannedAuditorIds));
+		when(auditPlanRepository.findPlannedAuditorIdsIn(anyCollection())).thenAnswer(invocation -> {
+			Collection<Integer> ids = invocation.getArgument(0);
+			return ids.stream().filter(plannedAuditorIds::contains).toList();
+		});
+
+		standbyAuditors.rebuildLater();
+		awaitNearestUnplanned();
+	}
+
+	@AfterEach
+	void stop() {
+		standbyAuditors.stop();
+	}
+
+	@Test
+	void takenAuditorsAreReplacedByTheNextNearestUnplanned() {
+		// Every standby of a few stores takes over a store; the crowded store's replacements lie past its planned crowd.
+		Set<Integer> taken = new HashSet<>();
+		for (int storeId : List.of(1, 7, 19)) {
+			taken.addAll(standbyAuditors.get(storeId));
+		}
+		plannedAuditorIds.addAll(taken);
+		standbyAuditors.auditorsTaken(taken);
+
+		awaitNearestUnplanned();
+	}
+
+	@Test
+	void availableAuditorsAreOfferedToEveryList() {
+		List<Auditors> joined = new ArrayList<>();
+		// One on top of a store, one near another, and one already standing by that is offered again.
+		Store first = plannedStores.get(3);
+		Store second = plannedStores.get(11);
+		joined.add(addAuditor(1001, first.getLocationLat(), first.getLocationLon()));
+		joined.add(addAuditor(1002, second.getLocationLat() + 0.01, second.getLocationLon() - 0.01));
+		joined.add(auditors.stream().filter(auditor -> auditor.getId() == standbyAuditors.get(20).get(0)).findFirst().orElseThrow());
+		standbyAuditors.auditorsAvailable(joined);
+
+		awaitNearestUnplanned();
+		assertEquals(1001, standbyAuditors.get(3).get(0));
+	}
+
+	@Test
+	void freedAuditorsFillShortLists() {
+		// Leave four unplanned auditors, so every list is short of STANDBY_COUNT.
+		Set<Integer> free = Set.of(100, 150, 200, 250);
+		auditors.stream().filter(auditor -> !free.contains(auditor.getId())).forEach(auditor -> plannedAuditorIds.add(auditor.getId()));
+		standbyAuditors.rebuildLater();
+		awaitNearestUnplanned();
+		assertEquals(4, standbyAuditors.get(5).size());
+
+		Auditors freed = auditors.get(300);
+		plannedAuditorIds.remove(freed.getId());
+		standbyAuditors.auditorsAvailable(List.of(freed));
+
+		awaitNearestUnplanned();
+		assertEquals(STANDBY_COUNT, standbyAuditors.get(5).size());
+	}
+
+	@Test
+	void unplannedStoresLoseTheirLists() {
+		plannedStores.remove(4);
+		plannedStores.remove(9);
+		standbyAuditors.storesUnplanned(List.of(4, 9));
+
+		awaitNearestUnplanned();
+		assertEquals(List.of(), standbyAuditors.get(4));
+		assertEquals(plannedStores.size(), standbyAuditors.size());
+	}
+
+	// Waits for the refresh thread to settle on the nearest available unplanned auditors for every planned store.
+	private void awaitNearestUnplanned() {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (true) {
+			Map<Integer, List<Integer>> expected = new TreeMap<>();
+			Map<Integer, List<Integer>> actual = new TreeMap<>();
+			plannedStores.values().forEach(store -> {
+				expected.put(store.getId(), linearScan(store));
+				actual.put(store.getId(), standbyAuditors.get(store.getId()));
+			});
+			if (expected.equals(actual) && standbyAuditors.size() == plannedStores.size()) {
+				return;
+			}
+			if (System.currentTimeMillis() > deadline) {
+				fail("standbys " + actual + ", expected " + expected);
+			}
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				fail("interrupted");
+			}
+		}
+	}
+
+	private List<Integer> linearScan(Store store) {
+		return auditors.stream()
+				.filter(auditor -> !plannedAuditorIds.contains(auditor.getId()))
+				.sorted(Comparator.comparingDouble(auditor -> GeoUtils.haversineDistance(store.getLocationLat(), store.getLocationLon(),
+						auditor.getHomeLat(), auditor.getHomeLon())))
+				.limit(STANDBY_COUNT)
+				.map(Auditors::getId)
+				.toList();
+	}
+
+	private Auditors addAuditor(int id, double lat, double lon) {
+		Auditors auditor = new Auditors();
+		auditor.setId(id);
+		auditor.setHomeLat(lat);
+		auditor.setHomeLon(lon);
+		auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		index.update(auditor);
+		auditors.add(auditor);
+		return auditor;
+	}
+
+	private double lat() {
+		return 8 + random.nextDouble() * 22;
+	}
+
+	private double lon() {
+		return 70 + random.nextDouble() * 18;
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.application.entities.AuditPlan;
+import com.application.entities.Auditors;
+import com.application.entities.Store;
+import com.application.repository.AuditPlanRepository;
+import com.application.repository.AuditorRepository;
+import com.application.repository.StoreRepository;
+
+/**
+ * With the status-change pipeline full, closing a store through StoreService is refused before it
+ * commits: the store stays open and keeps its plan. A change for an entity already held still folds in.
+ */
+@SpringBootTest(properties = "status.pipeline.queue-capacity=1")
+@DirtiesContext
+class StatusChangeOverflowTest {
+
+	@Autowired
+	private StatusChangePipeline statusChangePipeline;
+
+	@Autowired
+	private StoreService storeService;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private AuditorRepository auditorRepository;
+
+	@Autowired
+	private AuditPlanRepository auditPlanRepository;
+
+	private Store store;
+
+	private Auditors auditor;
+
+	@AfterEach
+	void deleteRows() {
+		if (store != null) {
+			auditPlanRepository.findByStore(store).ifPresent(auditPlanRepository::delete);
+			storeRepository.deleteById(store.getId());
+		}
+		if (auditor != null) {
+			auditorRepository.deleteById(auditor.getId());
+		}
+	}
+
+	@Test
+	void fullPipelineRejectsTheUpdateBeforeItCommits() throws InterruptedException {
+		// Without a consumer the one pending change keeps the pipeline full for the rest of the test.
+		statusChangePipeline.stop();
+		statusChangePipeline.publish(new StoreStatusChange(-1, Store.StoreStatus.OPEN, Store.StoreStatus.CLOSED));
+
+		store = new Store();
+		store.setName("overflow-test store");
+		store.setLocationLat(12.97);
+		store.setLocationLon(77.59);
+		store.setStoreStatus(Store.StoreStatus.OPEN);
+		store = storeRepository.save(store);
+		auditor = new Auditors();
+		auditor.setName("overflow-test auditor");
+		auditor.setHomeLat(12.98);
+		auditor.setHomeLon(77.60);
+		auditor.setWorkLoadCapacityHours(40);
+		auditor.setAvailabilityStatus(Auditors.AvailabilityStatus.AVAILABLE);
+		auditor = auditorRepository.save(auditor);
+		AuditPlan plan = new AuditPlan();
+		plan.setStore(store);
+		plan.setAuditors(auditor);
+		plan.setAuditPriority(AuditPlan.AuditPriority.MEDIUM);
+		plan = auditPlanRepository.save(plan);
+
+		assertThrows(StatusChangeRejectedException.class, () -> storeService.updateStoreStatus(store.getId(), Store.StoreStatus.CLOSED));
+
+		assertEquals(Store.StoreStatus.OPEN, storeRepository.findById(store.getId()).orElseThrow().getStoreStatus());
+		assertTrue(auditPlanRepository.existsById(plan.getId()), "the rejected close removed the plan");
+		assertEquals(1, statusChangePipeline.getQueuedCount());
+		assertDoesNotThrow(() -> statusChangePipeline.publish(new StoreStatusChange(-1, Store.StoreStatus.CLOSED, Store.StoreStatus.OPEN)));
+		assertEquals(1, statusChangePipeline.getQueuedCount());
+	}
+
+}
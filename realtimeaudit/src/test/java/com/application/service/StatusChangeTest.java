@@ -0,0 +1,56 @@
+package com.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.application.entities.Auditors.AvailabilityStatus;
+import com.application.entities.Store.StoreStatus;
+
+class StatusChangeTest {
+
+	private static final Instant FIRST = Instant.parse("2026-01-01T08:00:00Z");
+
+	private static final Instant LATER = FIRST.plusSeconds(1);
+
+	@Test
+	void auditorFlippingBackIsNoNetChange() {
+		StatusChange folded = new AuditorStatusChange(1, AvailabilityStatus.AVAILABLE, AvailabilityStatus.UNAVAILABLE, FIRST)
+				.followedBy(new AuditorStatusChange(1, AvailabilityStatus.UNAVAILABLE, AvailabilityStatus.AVAILABLE, LATER));
+
+		assertFalse(folded.isNetChange());
+	}
+
+	@Test
+	void auditorChangesFoldToFirstFromAndLastTo() {
+		StatusChange folded = new AuditorStatusChange(1, AvailabilityStatus.AVAILABLE, AvailabilityStatus.UNAVAILABLE, FIRST)
+				.followedBy(new AuditorStatusChange(1, AvailabilityStatus.UNAVAILABLE, AvailabilityStatus.AVAILABLE, LATER))
+				.followedBy(new AuditorStatusChange(1, AvailabilityStatus.AVAILABLE, AvailabilityStatus.ON_LEAVE, LATER));
+
+		// Disruption latency is measured from the first change of the fold.
+		assertEquals(new AuditorStatusChange(1, AvailabilityStatus.AVAILABLE, AvailabilityStatus.ON_LEAVE, FIRST), folded);
+		assertTrue(folded.isNetChange());
+	}
+
+	@Test
+	void storeChangesFold() {
+		StatusChange closed = new StoreStatusChange(2, StoreStatus.OPEN, StoreStatus.CLOSED);
+
+		assertFalse(closed.followedBy(new StoreStatusChange(2, StoreStatus.CLOSED, StoreStatus.OPEN)).isNetChange());
+		assertEquals(closed, closed.followedBy(new StoreStatusChange(2, StoreStatus.CLOSED, StoreStatus.CLOSED)));
+	}
+
+	@Test
+	void keysSeparateEntities() {
+		assertEquals(new AuditorStatusChange(3, AvailabilityStatus.AVAILABLE, AvailabilityStatus.UNAVAILABLE, FIRST).key(),
+				new AuditorStatusChange(3, AvailabilityStatus.UNAVAILABLE, AvailabilityStatus.AVAILABLE, LATER).key());
+		assertNotEquals(new AuditorStatusChange(3, AvailabilityStatus.AVAILABLE, AvailabilityStatus.UNAVAILABLE, FIRST).key(),
+				new StoreStatusChange(3, StoreStatus.OPEN, StoreStatus.CLOSED).key());
+	}
+
+}
@@ -1,9 +1,12 @@
 import streamlit as st
 import requests
+import time
 import pandas as pd
 
 # --- Configuration ---
 API_URL = "http://localhost:8080/api"
+# How long "Generate and Save Plan" polls a queued or running plan job before giving up on it
+PLAN_JOB_MAX_WAIT_SECONDS = 600
 
 # --- Page Config ---
 st.set_page_config(
@@ -63,7 +66,7 @@ if page_selection == "Auditor Management":
     if st.sidebar.button("Update Status"):
         try:
             response = requests.put(f"{API_URL}/auditor/{status_update_id}", params={"status": new_status})
-            if response.status_code == 200: st.sidebar.success(f"Auditor {status_update_id} updated.")
+            if response.status_code in (200, 202): st.sidebar.success(f"Auditor {status_update_id} updated; reassignment queued.")
             else: st.sidebar.error(f"Update failed. Code: {response.status_code}\n{response.text}")
         except requests.exceptions.RequestException as e: st.sidebar.error(f"Connection Error: {e}")
 
@@ -148,7 +151,7 @@ elif page_selection == "Store Management":
     if st.sidebar.button("Update Store Status"):
         try:
             response = requests.put(f"{API_URL}/store/{store_update_id}", params={"status": new_store_status})
-            if response.status_code == 200: st.sidebar.success(f"Store {store_update_id} updated.")
+            if response.status_code in (200, 202): st.sidebar.success(f"Store {store_update_id} updated.")
             else: st.sidebar.error(f"Update failed. Code: {response.status_code}\n{response.text}")
         except requests.exceptions.RequestException as e: st.sidebar.error(f"Connection Error: {e}")
         
@@ -191,12 +194,32 @@ elif page_selection == "Audit Plan Management":
     if st.sidebar.button("Generate and Save Plan"):
         with st.spinner("Generating plan..."):
             try:
-                # Use the correct endpoint for automated generation
+                # Generation runs as a background job; submit it, then poll until it finishes
                 response = requests.post(f"{API_URL}/process")
-                if response.status_code == 200:
-                    st.sidebar.success("New audit plan generated successfully!")
-                    # Extract the list of assignments from the response
-                    st.session_state.newly_generated_plan = response.json().get("assignments", [])
+                if response.status_code == 202:
+                    job = response.json()
+                    job_id = job["jobId"]
+                    deadline = time.monotonic() + PLAN_JOB_MAX_WAIT_SECONDS
+                    poll_error = None
+                    while job.get("status") in ("QUEUED", "RUNNING") and time.monotonic() < deadline:
+                        time.sleep(1)
+                        poll = requests.get(f"{API_URL}/process/{job_id}", timeout=10)
+                        # 404 once the job is unknown to the backend (restarted, or past its retention)
+                        if poll.status_code != 200:
+                            poll_error = f"Polling job {job_id} failed. Code: {poll.status_code}\n{poll.text}"
+                            break
+                        job = poll.json()
+                    if poll_error:
+                        st.sidebar.error(poll_error)
+                    elif job.get("status") == "SUCCEEDED":
+                        st.sidebar.success("New audit plan generated successfully!")
+                        # Extract the list of assignments from the finished job
+                        st.session_state.newly_generated_plan = job.get("assignments", [])
+                    elif job.get("status") in ("QUEUED", "RUNNING"):
+                        st.sidebar.warning(f"Job {job_id} is still {job.get('status')} after {PLAN_JOB_MAX_WAIT_SECONDS} s. "
+                                           f"Check GET /api/process/{job_id} later.")
+                    else:
+                        st.sidebar.error(f"Failed: {job.get('error') or job.get('message')}")
                 else:
                     st.sidebar.error(f"Failed. Code: {response.status_code}\n{response.text}")
             except requests.exceptions.RequestException as e:
@@ -254,4 +277,4 @@ elif page_selection == "Audit Plan Management":
             df = pd.DataFrame(st.session_state.newly_generated_plan)
             st.dataframe(df, use_container_width=True)
         else:
-            st.info("No new plan generated in this session. Click 'Generate and Save Plan'.")
\ No newline at end of file
+            st.info("No new plan generated in this session. Click 'Generate and Save Plan'.")
\ No newline at end of file